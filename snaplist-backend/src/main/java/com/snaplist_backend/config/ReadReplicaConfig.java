@@ -0,0 +1,81 @@
+package com.snaplist_backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Active when snaplist.replica.enabled=true: read-only transactions (@Transactional(readOnly = true),
+// e.g. TaskService.listTasks/getTask) of signed-in users read from the replica pool, everything
+// else uses the primary (ReplicaRoutingDataSource). Replaces Spring Boot's single pool; the
+// primary is still configured through spring.datasource.*.
+@Configuration
+@ConditionalOnProperty(name = "snaplist.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private ReplicaRoutingDataSource routing;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (ds.getPoolName() == null) ds.setPoolName("primary");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("snaplist.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${snaplist.replica.url}") String url,
+                                              @Value("${snaplist.replica.username:}") String username,
+                                              @Value("${snaplist.replica.password:}") String password) {
+        HikariDataSource ds = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        ds.setPoolName("replica");
+        return ds;
+    }
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${snaplist.replica.read-your-writes-max-users:100000}") int maxUsers,
+            @Value("${snaplist.replica.read-your-writes-ms:2000}") long windowMs) {
+        return new ReadYourWritesWindow(maxUsers, Duration.ofMillis(windowMs));
+    }
+
+    // Parameters are plain DataSources: in virtual-thread mode the pools arrive wrapped in
+    // ConnectionLimitingDataSource (VirtualThreadConfig).
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReadYourWritesWindow window,
+            @Value("${snaplist.replica.validation-timeout-s:1}") int validationTimeoutSeconds,
+            MeterRegistry registry) {
+        routing = new ReplicaRoutingDataSource(primary, replica, window, validationTimeoutSeconds, registry);
+        return routing;
+    }
+
+    // What JPA, JDBC and the SQL initializer get. The physical connection (and so the routing
+    // decision) waits for the first statement, by which time the transaction is marked read-only.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Scheduled(fixedDelayString = "${snaplist.replica.health-check-ms:5000}")
+    public void checkReplica() {
+        if (routing != null) routing.checkReplica();
+    }
+}
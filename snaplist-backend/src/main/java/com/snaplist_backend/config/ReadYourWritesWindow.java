@@ -0,0 +1,44 @@
+package com.snaplist_backend.config;
+
+import com.snaplist_backend.security.UserPrincipal;
+import com.snaplist_backend.service.TaskChangedEvent;
+import com.snaplist_backend.util.ExpiringLruCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+// Users who changed their tasks within the last window: their reads stay on the primary until
+// the replica has had time to catch up. The window is opened when the change is made (inside
+// the writing transaction) and opened again from its commit, so it always covers the commit.
+// In-process only: a write served by another instance doesn't open it here.
+public class ReadYourWritesWindow {
+
+    private final ExpiringLruCache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(int maxUsers, Duration window) {
+        this.recentWriters = new ExpiringLruCache<>(maxUsers, window);
+    }
+
+    @EventListener
+    public void onTaskChanging(TaskChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return recentWriters.get(userId) != null;
+    }
+
+    // The signed-in user on this thread, or null (login, registration, background jobs).
+    static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserPrincipal principal ? principal.getId() : null;
+    }
+}
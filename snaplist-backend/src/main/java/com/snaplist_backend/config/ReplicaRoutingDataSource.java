@@ -0,0 +1,131 @@
+package com.snaplist_backend.config;
+
+import com.snaplist_backend.service.TaskVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Hands out replica connections to read-only transactions of signed-in users and primary
+// connections to everything else. The decision is made when a connection is requested, so this
+// must sit behind a LazyConnectionDataSourceProxy (ReadReplicaConfig): with JPA the transaction
+// asks for its connection before it is marked read-only, the proxy defers that to the first
+// statement. Reads without a user stay on the primary: logins must see just-registered accounts.
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    enum Route {
+        REPLICA,
+        READ_WRITE,        // not in a read-only transaction
+        NO_USER,           // read-only, but nobody signed in
+        RECENT_WRITE,      // the user's read-your-writes window is open
+        REPLICA_DOWN,      // failed its last health check
+        FALLBACK           // replica connection failed just now
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWritesWindow window;
+    private final int validationTimeoutSeconds;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+    private volatile boolean replicaUp = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesWindow window,
+                                    int validationTimeoutSeconds, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.window = window;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        for (Route r : Route.values()) {
+            routed.put(r, Counter.builder("snaplist.datasource.routed")
+                    .description("Connections handed out, by target and why")
+                    .tag("target", r == Route.REPLICA ? "replica" : "primary")
+                    .tag("route", r.name().toLowerCase())
+                    .register(registry));
+        }
+        Gauge.builder("snaplist.datasource.replica.up", this, ds -> ds.replicaUp ? 1 : 0)
+                .description("1 while the replica passes its health check")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Route route = route();
+        if (route == Route.REPLICA) {
+            try {
+                Connection c = replica.getConnection();
+                routed.get(Route.REPLICA).increment();
+                markReplicaRead();
+                return c;
+            } catch (SQLException e) {
+                markDown(e);
+                route = Route.FALLBACK;
+            }
+        }
+        routed.get(route).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // explicit credentials belong to the primary's account
+        routed.get(Route.READ_WRITE).increment();
+        return primary.getConnection(username, password);
+    }
+
+    Route route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.READ_WRITE;
+        }
+        Long userId = ReadYourWritesWindow.currentUserId();
+        if (userId == null) return Route.NO_USER;
+        if (window.wroteRecently(userId)) return Route.RECENT_WRITE;
+        if (!replicaUp) return Route.REPLICA_DOWN;
+        return Route.REPLICA;
+    }
+
+    // Scheduled by ReadReplicaConfig; the only way back after the replica was marked down.
+    public void checkReplica() {
+        boolean up;
+        try (Connection c = replica.getConnection()) {
+            up = c.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            up = false;
+        }
+        if (up != replicaUp) {
+            if (up) log.info("Read replica is back; read-only transactions use it again");
+            else log.warn("Read replica failed its health check; reading from the primary");
+        }
+        replicaUp = up;
+    }
+
+    public boolean isReplicaUp() {
+        return replicaUp;
+    }
+
+    // Replica rows can trail the user's change version: keep them out of caches and ETags.
+    private static void markReplicaRead() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(TaskVersionService.REPLICA_READ_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private void markDown(SQLException e) {
+        if (replicaUp) log.warn("Read replica connection failed, reading from the primary: {}", e.getMessage());
+        replicaUp = false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.snaplist_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background housekeeping (@Scheduled methods, e.g. TaskSyncService's tombstone purge).
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
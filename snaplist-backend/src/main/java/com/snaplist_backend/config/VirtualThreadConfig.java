@@ -0,0 +1,42 @@
+package com.snaplist_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+// Active when spring.threads.virtual.enabled=true. Spring Boot then serves every request
+// (and therefore every @Transactional service call made from it) on a virtual thread;
+// this config adds the pieces that mode needs on top: a connection limiter in front of the
+// pool and pinning detection.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiter(
+            @Value("${snaplist.db.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${snaplist.db.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                //wrap the pools only: proxies in front of them (ReadReplicaConfig) already reach a limited pool
+                if (bean instanceof DataSource ds && !(bean instanceof DelegatingDataSource)
+                        && !(bean instanceof ReplicaRoutingDataSource)) {
+                    return new ConnectionLimitingDataSource(ds, maxConcurrent, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${snaplist.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        return new VirtualThreadPinningMonitor(thresholdMs);
+    }
+}
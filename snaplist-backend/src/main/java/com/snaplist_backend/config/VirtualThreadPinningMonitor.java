@@ -0,0 +1,63 @@
+package com.snaplist_backend.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Streams the JDK's jdk.VirtualThreadPinned JFR event and logs every time a virtual thread
+// stayed pinned to its carrier (typically blocking inside a synchronized block) for longer
+// than the threshold. Each such pin takes a carrier thread out of circulation.
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Duration threshold;
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public long getPinnedEvents() {
+        return pinnedEvents.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        String where = event.getStackTrace() == null ? "<no stack>" : event.getStackTrace().getFrames().stream()
+                .limit(8)
+                .map(RecordedFrame::getMethod)
+                .map(m -> m.getType().getName() + "." + m.getName())
+                .collect(Collectors.joining(" <- "));
+        log.warn("Virtual thread pinned for {} ms: {}", event.getDuration().toMillis(), where);
+    }
+}
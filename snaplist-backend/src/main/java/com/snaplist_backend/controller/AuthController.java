@@ -5,13 +5,14 @@ import com.snaplist_backend.dto.LoginRequest;
 import com.snaplist_backend.dto.RegisterRequest;
 import com.snaplist_backend.repository.UserRepository;
 import com.snaplist_backend.security.JwtUtils;
+import com.snaplist_backend.service.TaskCounterService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,16 +27,19 @@ import java.util.Map;
 public class AuthController {
 
     private final UserRepository userRepo;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authManager;
+    private final TaskCounterService taskCounters;
 
-    public AuthController(UserRepository userRepo, BCryptPasswordEncoder encoder,
-                          JwtUtils jwtUtils, AuthenticationManager authManager) {
+    public AuthController(UserRepository userRepo, PasswordEncoder encoder,
+                          JwtUtils jwtUtils, AuthenticationManager authManager,
+                          TaskCounterService taskCounters) {
         this.userRepo = userRepo;
         this.encoder = encoder;
         this.jwtUtils = jwtUtils;
         this.authManager = authManager;
+        this.taskCounters = taskCounters;
     }
 
     //REGISTER ENDPOINT
@@ -51,6 +55,8 @@ public class AuthController {
         user.setEmail(req.getEmail());
         user.setPassword(encoder.encode(req.getPassword()));
         userRepo.save(user);
+        //empty task counters, so the user's lists never need a COUNT (TaskCounterService)
+        taskCounters.initialize(user.getId());
 
         return ResponseEntity.ok("User registered");
     }
@@ -66,11 +72,11 @@ public class AuthController {
 
             User user = userRepo.findByUsername(req.getUsername()).get();
 
-            String token = jwtUtils.generateToken(user.getUsername(), user.getId());
+            JwtUtils.IssuedToken issued = jwtUtils.issueToken(user.getUsername(), user.getId());
 
             Map<String, Object> body = new HashMap<>();
-            body.put("token", token);
-            body.put("expiresIn", jwtUtils.getClaims(token).getExpiration().getTime());
+            body.put("token", issued.token());
+            body.put("expiresIn", issued.expiresAt().getTime());
             body.put("username", user.getUsername());
             return ResponseEntity.ok(body);
 
@@ -1,20 +1,55 @@
 package com.snaplist_backend.controller;
 
 import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.BatchResult;
+import com.snaplist_backend.dto.CursorPage;
+import com.snaplist_backend.dto.ImportResult;
+import com.snaplist_backend.dto.TaskChanges;
+import com.snaplist_backend.dto.TaskIdsRequest;
 import com.snaplist_backend.dto.TaskRequest;
 import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.dto.TaskSummary;
+import com.snaplist_backend.dto.TaskUpdateItem;
+import com.snaplist_backend.monitoring.SqlBudget;
+import com.snaplist_backend.service.TaskBatchService;
+import com.snaplist_backend.service.TaskEventHub;
+import com.snaplist_backend.service.TaskExportService;
+import com.snaplist_backend.service.TaskFileFormat;
+import com.snaplist_backend.service.TaskImportService;
+import com.snaplist_backend.service.TaskReadCache;
+import com.snaplist_backend.service.TaskService;
+import com.snaplist_backend.service.TaskSummaryService;
+import com.snaplist_backend.service.TaskSyncService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import com.snaplist_backend.service.TaskService;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -23,7 +58,20 @@ public class TaskController {
 
     //Delegating the real work to TaskService.
     private final TaskService taskService;
+    private final TaskReadCache taskReadCache;
+    private final TaskBatchService taskBatchService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskSummaryService taskSummaryService;
+    private final TaskSyncService taskSyncService;
+    private final TaskEventHub taskEventHub;
+
+    //Reads are tagged with the user's change version (see TaskVersionService), so the browser
+    //may keep its copy but must revalidate; an unchanged version answers 304 after a single
+    //primary-key lookup of the version.
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
+    @SqlBudget(2)
     @PostMapping //A POST to /api/tasks sends a JSON body with task details.
     public ResponseEntity<TaskResponse> create(@Valid @RequestBody TaskRequest req) {
         TaskResponse resp = taskService.createTask(req); //The controller hands the request object to taskService.createTask(req).
@@ -31,6 +79,7 @@ public class TaskController {
         //This endpoint is simple and clean because all business logic lives in the service layer.
     }
 
+    @SqlBudget(3)
     @GetMapping
     public ResponseEntity<Page<TaskResponse>> list(
             //@RequestParam makes each filter optional.
@@ -43,29 +92,144 @@ public class TaskController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
             @RequestParam(value = "dueAfter", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request) {
+
+        //Nothing changed since the client's copy? 304 before touching the tasks.
+        String etag = listEtag(request);
+        if (notModified(request, etag)) return notModifiedResponse(etag);
 
         //Once all filters are collected, the controller calls:
-        Page<TaskResponse> page = taskService.listTasks(q, status, priority, dueBefore, dueAfter, pageable);
+        Page<TaskResponse> page = taskReadCache.listTasks(q, status, priority, dueBefore, dueAfter, pageable);
         //returns the page.
-        return ResponseEntity.ok(page);
+        return tagged(etag).body(page);
+    }
+
+    //Cursor (keyset) mode: picked whenever the request carries an "after" parameter.
+    //Send after= (empty) for the first page, then the nextCursor from the previous response.
+    //No totals are returned, so deep pages cost the same as the first one.
+    @SqlBudget(2)
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<TaskResponse>> listByCursor(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "status", required = false) Task.Status status,
+            @RequestParam(value = "priority", required = false) Task.Priority priority,
+            @RequestParam(value = "dueBefore", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+            @RequestParam(value = "dueAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueAfter,
+            @RequestParam("after") String after,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            WebRequest request) {
+
+        String etag = listEtag(request);
+        if (notModified(request, etag)) return notModifiedResponse(etag);
+
+        CursorPage<TaskResponse> page = taskService.listTasksAfter(q, status, priority, dueBefore, dueAfter, after, size);
+        return tagged(etag).body(page);
+    }
+
+    //BATCH endpoints: up to 500 items per call, validated up front, written in JDBC batches.
+    //The response reports an outcome per item, so one bad entry doesn't sink the rest.
+    @SqlBudget(30)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResult> createBatch(@RequestBody List<TaskRequest> reqs) {
+        return ResponseEntity.ok(taskBatchService.createTasks(reqs));
+    }
+
+    @SqlBudget(30)
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResult> updateBatch(@RequestBody List<TaskUpdateItem> items) {
+        return ResponseEntity.ok(taskBatchService.updateTasks(items));
+    }
+
+    @SqlBudget(3)
+    @PostMapping("/batch/complete")
+    public ResponseEntity<BatchResult> completeBatch(@Valid @RequestBody TaskIdsRequest req) {
+        return ResponseEntity.ok(taskBatchService.completeTasks(req.getIds()));
+    }
+
+    @SqlBudget(4)
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchResult> deleteBatch(@Valid @RequestBody TaskIdsRequest req) {
+        return ResponseEntity.ok(taskBatchService.deleteTasks(req.getIds()));
+    }
+
+    //SUMMARY for the dashboard: counts by status and priority, due today and overdue.
+    //One aggregate query, cached per user until their next write.
+    @SqlBudget(2)
+    @GetMapping("/summary")
+    public ResponseEntity<TaskSummary> summary() {
+        return ResponseEntity.ok(taskSummaryService.summary());
+    }
+
+    //CHANGES since the client's last sync: tasks created/updated plus ids of deleted tasks.
+    //Start with since= (empty), then always send back the cursor from the previous response.
+    //410 Gone means the cursor predates the delete history: reload the full list.
+    @SqlBudget(2)
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChanges> changes(
+            @RequestParam(value = "since", defaultValue = "") String since,
+            @RequestParam(value = "size", defaultValue = "200") int size) {
+        return ResponseEntity.ok(taskSyncService.changesSince(since, size));
+    }
+
+    //STREAM of the user's task changes as Server-Sent Events: one "task" event per committed
+    //write, {"kind":"UPDATED","ids":[...]}. Closed by the server if the client can't keep up;
+    //on reconnect, catch up through /changes.
+    @SqlBudget(0)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return taskEventHub.subscribe();
+    }
+
+    //EXPORT every task of the user in one response (?format=ndjson, the default, or csv).
+    //Rows go from a database cursor straight into the response, never into a list.
+    @SqlBudget(1)
+    @GetMapping("/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        TaskFileFormat f = TaskFileFormat.of(format);
+        response.setContentType(f.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + f.extension() + "\"");
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 8192);
+        taskExportService.export(f, out);
+    }
+
+    //IMPORT a streamed NDJSON or CSV body (same columns as the export; only text is required).
+    //The body is read row by row and written in chunked JDBC batches; bad rows are listed in the
+    //summary by line number. Statement count grows with the file, hence no real SQL budget.
+    @SqlBudget(Integer.MAX_VALUE)
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportResult> importTasks(HttpServletRequest request) throws IOException {
+        MediaType type = MediaType.parseMediaType(request.getContentType());
+        Charset charset = type.getCharset() != null ? type.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader in = new BufferedReader(new InputStreamReader(request.getInputStream(), charset), 8192);
+        return ResponseEntity.ok(taskImportService.importTasks(TaskFileFormat.of(type), in));
     }
 
     //GET a single task
+    @SqlBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> get(@PathVariable Long id) {
-        TaskResponse resp = taskService.getTask(id);
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<TaskResponse> get(@PathVariable Long id, WebRequest request) {
+        String etag = etag(taskService.currentVersion(), "task/" + id);
+        if (notModified(request, etag)) return notModifiedResponse(etag);
+
+        TaskResponse resp = taskReadCache.getTask(id);
+        return tagged(etag).body(resp);
     }
 
     //UPDATE a task
+    @SqlBudget(4)
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> update(@PathVariable Long id, @Valid @RequestBody TaskRequest req) {
         TaskResponse resp = taskService.updateTask(id, req);
         return ResponseEntity.ok(resp);
     }
 
-    //DELETE a task
+    //DELETE a task (and leave a tombstone for /changes)
+    @SqlBudget(4)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         taskService.deleteTask(id);
@@ -73,6 +237,7 @@ public class TaskController {
     }
 
     //MARK a task as complete
+    @SqlBudget(4)
     @PostMapping("/{id}/complete")
     public ResponseEntity<TaskResponse> complete(@PathVariable Long id) {
         TaskResponse resp = taskService.markCompleted(id);
@@ -80,4 +245,44 @@ public class TaskController {
     }
     //The idea is to have a small, dedicated endpoint to change the task’s status to completed
     // —> instead of forcing clients to send a full update request.
-}
\ No newline at end of file
+
+    //Strong ETag: the change version plus a digest of what was asked for (sorted query parameters
+    //for lists, the id for single tasks). The version alone already covers every task's updatedAt.
+    private String listEtag(WebRequest request) {
+        StringBuilder scope = new StringBuilder("list");
+        for (Map.Entry<String, String[]> p : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            scope.append('&').append(p.getKey()).append('=').append(String.join(",", p.getValue()));
+        }
+        return etag(taskService.currentVersion(), scope.toString());
+    }
+
+    //Tags are only handed out for primary reads (see TaskVersionService), so a tag the client sends
+    //back still proves its copy current even when this request would read from the replica.
+    //A user without a stored version (no counter row yet) never matches.
+    private boolean notModified(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || !taskService.readsTaggable()) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            //weak comparison, as for any GET (proxies may have weakened the tag)
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    //A read served by the replica may trail the version the tag names: send it untagged.
+    private ResponseEntity.BodyBuilder tagged(String etag) {
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().cacheControl(REVALIDATE);
+        return taskService.readsTaggable() ? ok.eTag(etag) : ok;
+    }
+
+    private static String etag(long version, String scope) {
+        String digest = DigestUtils.md5DigestAsHex(scope.getBytes(StandardCharsets.UTF_8));
+        return "\"" + version + "-" + digest.substring(0, 16) + "\"";
+    }
+}
@@ -15,9 +15,11 @@ import java.time.LocalDate;
 @Entity
 @Table(name="tasks",
         indexes = {
-            @Index(name = "idx_task_due_date", columnList= "due_date"),
-            @Index(name = "idx_task_priority", columnList = "priority"),
-            @Index(name = "idx_task_status", columnList = "status")
+            @Index(name = "idx_task_user_status_due", columnList = "user_id, status, due_date"),
+            @Index(name = "idx_task_user_priority", columnList = "user_id, priority"),
+            @Index(name = "idx_task_user_due", columnList = "user_id, due_date"),
+            @Index(name = "idx_task_user_created", columnList = "user_id, created_at, id"),
+            @Index(name = "idx_task_user_updated", columnList = "user_id, updated_at, id")
         })
 public class Task {
 
@@ -32,8 +34,10 @@ public class Task {
         HIGH
     }
 
+    //Pooled sequence instead of IDENTITY so Hibernate can batch inserts (ids are handed out 50 at a time).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
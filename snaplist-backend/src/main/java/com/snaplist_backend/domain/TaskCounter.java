@@ -0,0 +1,59 @@
+package com.snaplist_backend.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+// One row per user: how many of the user's tasks sit in each (status, priority) cell.
+// Kept up to date by the task write paths inside their own transactions (TaskCounterService),
+// so list endpoints can report totals without a COUNT over the user's tasks. The same row
+// carries the user's change version (TaskVersionService), moved on by every one of those updates.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_counters")
+public class TaskCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "pending_low", nullable = false)
+    private long pendingLow;
+
+    @Column(name = "pending_medium", nullable = false)
+    private long pendingMedium;
+
+    @Column(name = "pending_high", nullable = false)
+    private long pendingHigh;
+
+    @Column(name = "done_low", nullable = false)
+    private long doneLow;
+
+    @Column(name = "done_medium", nullable = false)
+    private long doneMedium;
+
+    @Column(name = "done_high", nullable = false)
+    private long doneHigh;
+
+    @ColumnDefault("0")
+    @Column(name = "change_version", nullable = false)
+    private long changeVersion;
+
+    // Cells in TaskCounts order (status major, priority minor).
+    public long[] cells() {
+        return new long[] {pendingLow, pendingMedium, pendingHigh, doneLow, doneMedium, doneHigh};
+    }
+
+    public void setCells(long[] cells) {
+        pendingLow = cells[0];
+        pendingMedium = cells[1];
+        pendingHigh = cells[2];
+        doneLow = cells[3];
+        doneMedium = cells[4];
+        doneHigh = cells[5];
+    }
+}
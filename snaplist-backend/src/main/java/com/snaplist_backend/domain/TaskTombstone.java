@@ -0,0 +1,36 @@
+package com.snaplist_backend.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Left behind by every task delete so GET /api/tasks/changes can tell clients what disappeared.
+// Plain ids, no associations: the task row is gone and nothing here is ever joined.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_tombstones",
+        indexes = {
+            @Index(name = "idx_tombstone_user_deleted", columnList = "user_id, deleted_at, id"),
+            @Index(name = "idx_tombstone_deleted", columnList = "deleted_at")
+        })
+public class TaskTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstone_seq")
+    @SequenceGenerator(name = "tombstone_seq", sequenceName = "task_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,43 @@
+package com.snaplist_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Outcome {
+        OK,
+        INVALID,
+        NOT_FOUND
+    }
+
+    private int index;          // position in the request body
+    private Long id;
+    private Outcome outcome;
+    private Map<String, String> errors;
+    private TaskResponse task;
+
+    public static BatchItemResult ok(int index, TaskResponse task) {
+        return new BatchItemResult(index, task.getId(), Outcome.OK, null, task);
+    }
+
+    public static BatchItemResult ok(int index, Long id) {
+        return new BatchItemResult(index, id, Outcome.OK, null, null);
+    }
+
+    public static BatchItemResult invalid(int index, Long id, Map<String, String> errors) {
+        return new BatchItemResult(index, id, Outcome.INVALID, errors, null);
+    }
+
+    public static BatchItemResult notFound(int index, Long id) {
+        return new BatchItemResult(index, id, Outcome.NOT_FOUND, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.snaplist_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchResult {
+
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> items;
+
+    public BatchResult(List<BatchItemResult> items) {
+        this.items = items;
+        this.succeeded = (int) items.stream().filter(i -> i.getOutcome() == BatchItemResult.Outcome.OK).count();
+        this.failed = items.size() - succeeded;
+    }
+}
@@ -0,0 +1,18 @@
+package com.snaplist_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Response envelope for keyset pagination: no totals, just the rows and where to resume.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+}
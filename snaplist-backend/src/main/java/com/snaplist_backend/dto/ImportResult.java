@@ -0,0 +1,27 @@
+package com.snaplist_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResult {
+
+    public record RowError(long line, Map<String, String> errors) {}
+
+    private long rows;              // data rows read (header and blank lines excluded)
+    private long imported;
+    private long failed;
+    private List<RowError> errors;  // first snaplist.import.max-errors failures only
+    private boolean errorsTruncated;
+    private String aborted;         // set when the file could not be read to the end
+    private long elapsedMs;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,18 @@
+package com.snaplist_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChanges {
+
+    private List<TaskResponse> changed;  // created or updated since the cursor, oldest first
+    private List<Long> deleted;          // ids of tasks deleted since the cursor
+    private String cursor;               // pass as ?since= on the next call
+    private boolean hasMore;             // more changes are waiting: call again right away
+}
@@ -0,0 +1,13 @@
+package com.snaplist_backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskIdsRequest {
+
+    @NotEmpty(message = "ids cannot be empty")
+    private List<Long> ids;
+}
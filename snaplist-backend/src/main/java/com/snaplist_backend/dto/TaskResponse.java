@@ -1,12 +1,16 @@
 package com.snaplist_backend.dto;
 
 import com.snaplist_backend.domain.Task;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // used by the JPQL/Criteria constructor projections in TaskRepositoryImpl
 public class TaskResponse {
 
     private Long id;
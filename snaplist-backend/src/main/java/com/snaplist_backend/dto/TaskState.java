@@ -0,0 +1,6 @@
+package com.snaplist_backend.dto;
+
+import com.snaplist_backend.domain.Task;
+
+// The columns the per-user task counters are keyed on, read while a task is being changed.
+public record TaskState(Long id, Task.Status status, Task.Priority priority) {}
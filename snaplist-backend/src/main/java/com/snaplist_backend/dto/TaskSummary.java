@@ -0,0 +1,20 @@
+package com.snaplist_backend.dto;
+
+import com.snaplist_backend.domain.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummary {
+
+    private long total;
+    private Map<Task.Status, Long> byStatus;       // every status present, zero when unused
+    private Map<Task.Priority, Long> byPriority;
+    private long dueToday;                         // any status, due date = today
+    private long overdue;                          // still PENDING, due date before today
+}
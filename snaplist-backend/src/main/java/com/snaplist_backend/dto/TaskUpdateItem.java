@@ -0,0 +1,14 @@
+package com.snaplist_backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+// One entry of PUT /api/tasks/batch: the usual TaskRequest fields plus the id to update.
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TaskUpdateItem extends TaskRequest {
+
+    @NotNull(message = "Task id is required")
+    private Long id;
+}
@@ -3,6 +3,7 @@ package com.snaplist_backend.exception;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -64,6 +65,38 @@ public class GlobalExceptionHandler {
                 .body(Map.of("message", ex.getMessage()));
     }
 
+    // Bad query parameters the validator can't see (e.g. a malformed pagination cursor) => 400
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(BadRequestException ex) {
+        return ResponseEntity.badRequest()
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    // Something the client holds on to no longer resolves (e.g. a sync cursor older than the
+    // tombstone retention) => 410, telling it to start over rather than retry.
+    @ExceptionHandler(GoneException.class)
+    public ResponseEntity<Map<String, String>> handleGone(GoneException ex) {
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    // No database connection available in time (pool exhausted / connection limiter) => 503,
+    // so clients back off and retry instead of treating it as a server bug.
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, String>> handleDatabaseBusy(CannotCreateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("message", "Server is busy. Try again shortly."));
+    }
+
+    // Bounded work queue full (e.g. password hashing during a login burst) => 503 right away.
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("message", ex.getMessage()));
+    }
+
     // Fallback => This catches everything else: NullPointerException, IllegalStateException, Database errors ,Unexpected bugs
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneral(Exception ex) {
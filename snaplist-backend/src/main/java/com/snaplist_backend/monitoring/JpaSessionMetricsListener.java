@@ -0,0 +1,79 @@
+package com.snaplist_backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+// One instance per Hibernate session (registered through hibernate.session.events.auto).
+// With open-in-view a session spans a whole request, so these are per-request figures:
+// how many JDBC statements ran, how long they took in total, and how long we waited for a
+// connection. Hibernate builds the listener itself, hence the global registry (Spring Boot
+// adds its registry there by default).
+public class JpaSessionMetricsListener implements SessionEventListener {
+
+    private static final DistributionSummary STATEMENTS = DistributionSummary
+            .builder("snaplist.jpa.session.statements")
+            .description("JDBC statements executed per Hibernate session (request)")
+            .register(Metrics.globalRegistry);
+    private static final Timer STATEMENT_TIME = Timer
+            .builder("snaplist.jpa.session.statement.time")
+            .description("Total JDBC execution time per Hibernate session (request)")
+            .register(Metrics.globalRegistry);
+    private static final Timer CONNECTION_WAIT = Timer
+            .builder("snaplist.jpa.session.connection.wait")
+            .description("Time spent acquiring JDBC connections per Hibernate session (request)")
+            .register(Metrics.globalRegistry);
+
+    private int statements;
+    private long statementNanos;
+    private long statementStart;
+    private long connectionNanos;
+    private long connectionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connectionNanos += System.nanoTime() - connectionStart;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed(System.nanoTime() - statementStart);
+    }
+
+    private void executed(long nanos) {
+        statements++;
+        statementNanos += nanos;
+        SqlMonitor.onExecuted(nanos); // slow-query log + per-request budget
+    }
+
+    @Override
+    public void end() {
+        if (statements == 0 && connectionNanos == 0) return;
+        STATEMENTS.record(statements);
+        STATEMENT_TIME.record(statementNanos, TimeUnit.NANOSECONDS);
+        CONNECTION_WAIT.record(connectionNanos, TimeUnit.NANOSECONDS);
+    }
+}
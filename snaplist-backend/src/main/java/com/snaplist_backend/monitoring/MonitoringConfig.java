@@ -0,0 +1,40 @@
+package com.snaplist_backend.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MonitoringConfig implements WebMvcConfigurer {
+
+    private final int statementBudget;
+
+    public MonitoringConfig(@Value("${snaplist.sql.slow-threshold-ms:200}") long slowThresholdMs,
+                            @Value("${snaplist.sql.statement-budget:10}") int statementBudget) {
+        SqlMonitor.configure(slowThresholdMs);
+        this.statementBudget = statementBudget;
+    }
+
+    @Bean
+    public SqlCountingFilter sqlCountingFilter() {
+        return new SqlCountingFilter();
+    }
+
+    // Ahead of everything else, the security filter chain (order -100) included.
+    @Bean
+    public FilterRegistrationBean<SqlCountingFilter> sqlCountingFilterRegistration(SqlCountingFilter filter) {
+        FilterRegistrationBean<SqlCountingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor(statementBudget)).addPathPatterns("/api/**");
+    }
+}
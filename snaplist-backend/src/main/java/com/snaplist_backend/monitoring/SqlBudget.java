@@ -0,0 +1,16 @@
+package com.snaplist_backend.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Maximum number of SQL statements one call of this endpoint is expected to run.
+// Going over it is logged as a warning by SqlBudgetInterceptor (think N+1 lazy loads).
+// Endpoints without the annotation use snaplist.sql.statement-budget. Authentication counts
+// too (SqlCountingFilter); budgets assume tokens with a uid, which need no user lookup.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
@@ -0,0 +1,61 @@
+package com.snaplist_backend.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    // The finished request's SqlMonitor.RequestStats, for anything that runs after the handler
+    // (access logging, the query-count tests).
+    public static final String STATS_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".stats";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetInterceptor.class);
+
+    private final int defaultBudget;
+
+    public SqlBudgetInterceptor(int defaultBudget) {
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest req, HttpServletResponse res, Object handler) {
+        Object pattern = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SqlMonitor.enter(req.getMethod() + " " + (pattern != null ? pattern : req.getRequestURI()));
+        return true;
+    }
+
+    // Async handlers (SSE) leave the request thread without afterCompletion: drop its state here.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest req, HttpServletResponse res, Object handler) {
+        SqlMonitor.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest req, HttpServletResponse res, Object handler, Exception ex) {
+        SqlMonitor.RequestStats stats = SqlMonitor.end();
+        if (stats == null) return;
+        req.setAttribute(STATS_ATTRIBUTE, stats);
+
+        int budget = defaultBudget;
+        if (handler instanceof HandlerMethod hm && hm.hasMethodAnnotation(SqlBudget.class)) {
+            budget = hm.getMethodAnnotation(SqlBudget.class).value();
+        }
+        if (stats.statements() > budget) {
+            String repeated = stats.bySql().entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(3)
+                    .map(e -> e.getValue() + "x " + SqlMonitor.abbreviate(e.getKey()))
+                    .collect(Collectors.joining(" | "));
+            log.warn("SQL budget exceeded [{}]: {} statements (budget {}). Most frequent: {}",
+                    stats.endpoint(), stats.statements(), budget, repeated);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.snaplist_backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Opens the request's SqlMonitor window ahead of the security filter chain, so the user lookups
+// authentication may run (tokens without a uid, jwt.verify-user) are counted with the request.
+// SqlBudgetInterceptor names the window after the handler and closes it with the budget check;
+// the close here only matters for requests that never reach a handler (turned away by security).
+public class SqlCountingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        SqlMonitor.begin(req.getMethod() + " " + req.getRequestURI());
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            SqlMonitor.end();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.snaplist_backend.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+// Thread-bound SQL bookkeeping shared by the Hibernate hooks (SqlStatementInspector,
+// JpaSessionMetricsListener) and the web layer (SqlCountingFilter, SqlBudgetInterceptor). Hibernate creates its
+// hooks reflectively, so the state lives here in statics, configured once by MonitoringConfig.
+public final class SqlMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitor.class);
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<LongConsumer> LATENCY = new ThreadLocal<>();
+
+    private static volatile long slowThresholdNanos = 200_000_000L;
+
+    private SqlMonitor() {}
+
+    // Statements run by one request, with how often each distinct SQL string appeared.
+    public static final class RequestStats {
+        private String endpoint;
+        private int statements;
+        private final Map<String, Integer> bySql = new HashMap<>();
+
+        RequestStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String endpoint() {
+            return endpoint;
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public Map<String, Integer> bySql() {
+            return bySql;
+        }
+    }
+
+    static void configure(long slowThresholdMs) {
+        slowThresholdNanos = slowThresholdMs * 1_000_000L;
+    }
+
+    // Receives the duration of every statement the current thread runs until unbound (keep it cheap).
+    // Bound per request by the bean that owns it (RateLimitFilter), so a JVM running several
+    // application contexts (the tests) feeds each one its own requests' statements.
+    public static void bindLatencyListener(LongConsumer listener) {
+        LATENCY.set(listener);
+    }
+
+    public static void unbindLatencyListener() {
+        LATENCY.remove();
+    }
+
+    public static void begin(String endpoint) {
+        CURRENT.set(new RequestStats(endpoint));
+    }
+
+    // Names the window SqlCountingFilter opened for this request after the handler it reached,
+    // keeping what ran before (authentication); opens one if no filter did.
+    public static void enter(String endpoint) {
+        RequestStats stats = CURRENT.get();
+        if (stats == null) {
+            begin(endpoint);
+        } else {
+            stats.endpoint = endpoint;
+        }
+    }
+
+    public static RequestStats end() {
+        RequestStats stats = CURRENT.get();
+        CURRENT.remove();
+        LAST_SQL.remove();
+        return stats;
+    }
+
+    public static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    // Called with the prepared (placeholder-only, no bind values) SQL just before it runs.
+    static void onPrepare(String sql) {
+        LAST_SQL.set(sql);
+    }
+
+    static void onExecuted(long nanos) {
+        LongConsumer latency = LATENCY.get();
+        if (latency != null) latency.accept(nanos);
+        String sql = LAST_SQL.get();
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            if (sql != null) stats.bySql.merge(sql, 1, Integer::sum);
+        }
+        if (nanos >= slowThresholdNanos) {
+            log.warn("Slow SQL {} ms [{}]: {}", nanos / 1_000_000,
+                    stats == null ? "-" : stats.endpoint, abbreviate(sql));
+        }
+    }
+
+    static String abbreviate(String sql) {
+        if (sql == null) return "<unknown>";
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_SQL_LENGTH ? flat : flat.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,14 @@
+package com.snaplist_backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector. Leaves the SQL untouched;
+// it only remembers it so the execution timing in JpaSessionMetricsListener can be attributed.
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlMonitor.onPrepare(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,67 @@
+package com.snaplist_backend.repository;
+
+import com.snaplist_backend.domain.TaskCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskCounterRepository extends JpaRepository<TaskCounter, Long> {
+
+    // Applies a write's net change and moves the user's change version on. The row lock it takes
+    // is held until the write commits, which is what lets reconciliation recount without losing
+    // concurrent deltas, and keeps the version from moving ahead of the rows it stands for.
+    @Modifying
+    @Query("""
+        UPDATE TaskCounter c SET
+            c.pendingLow = c.pendingLow + :pendingLow,
+            c.pendingMedium = c.pendingMedium + :pendingMedium,
+            c.pendingHigh = c.pendingHigh + :pendingHigh,
+            c.doneLow = c.doneLow + :doneLow,
+            c.doneMedium = c.doneMedium + :doneMedium,
+            c.doneHigh = c.doneHigh + :doneHigh,
+            c.changeVersion = c.changeVersion + 1
+        WHERE c.userId = :userId
+        """)
+    int add(
+            @Param("userId") Long userId,
+            @Param("pendingLow") long pendingLow,
+            @Param("pendingMedium") long pendingMedium,
+            @Param("pendingHigh") long pendingHigh,
+            @Param("doneLow") long doneLow,
+            @Param("doneMedium") long doneMedium,
+            @Param("doneHigh") long doneHigh
+    );
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO task_counters (user_id, pending_low, pending_medium, pending_high, done_low, done_medium, done_high)
+        SELECT :userId, :pendingLow, :pendingMedium, :pendingHigh, :doneLow, :doneMedium, :doneHigh
+        WHERE NOT EXISTS (SELECT 1 FROM task_counters WHERE user_id = :userId)
+        """, nativeQuery = true)
+    int createIfAbsent(
+            @Param("userId") Long userId,
+            @Param("pendingLow") long pendingLow,
+            @Param("pendingMedium") long pendingMedium,
+            @Param("pendingHigh") long pendingHigh,
+            @Param("doneLow") long doneLow,
+            @Param("doneMedium") long doneMedium,
+            @Param("doneHigh") long doneHigh
+    );
+
+    // Read-write, so it's routed to the primary like the writes that move it (ReplicaRoutingDataSource).
+    @Transactional
+    @Query("SELECT c.changeVersion FROM TaskCounter c WHERE c.userId = :userId")
+    Optional<Long> findChangeVersion(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM TaskCounter c WHERE c.userId IN :userIds")
+    List<TaskCounter> lockAll(@Param("userIds") Collection<Long> userIds);
+}
@@ -3,51 +3,93 @@ package com.snaplist_backend.repository;
 import com.snaplist_backend.domain.Task.Status;
 import com.snaplist_backend.domain.Task.Priority;
 import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.TaskResponse;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
    Page<Task> findByUserId(Long userId, Pageable pageable);
    Page<Task> findByUserIdAndStatus(Long userId, Status status, Pageable pageable);
    Page<Task> findByUserIdAndPriority(Long userId, Priority ppriority, Pageable pageable);
 
+    // Dashboard counts in one pass over the user's rows: one result row per (status, priority)
+    // pair present, each carrying its count plus how many of those are due today / overdue.
     @Query("""
-        SELECT t FROM Task t
+        SELECT t.status, t.priority, COUNT(t),
+               SUM(CASE WHEN t.dueDate = :today THEN 1 ELSE 0 END),
+               SUM(CASE WHEN t.status = com.snaplist_backend.domain.Task$Status.PENDING
+                         AND t.dueDate < :today THEN 1 ELSE 0 END)
+        FROM Task t
         WHERE t.user.id = :userId
-        AND t.dueDate = :today
+        GROUP BY t.status, t.priority
         """)
-    Page<Task> findTasksDueToday(
-            @Param("userId") Long userId,
-            @Param("today") LocalDate today,
-            Pageable pageable
-    );
+    List<Object[]> summarize(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // Rows a batch update is about to change, locked until it commits so its counter deltas start
+    // from what is really there and no concurrent delete can pull a row out from under its UPDATE.
+    // Id order, like the other batch writes (TaskRepositoryImpl), so overlapping batches queue.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND t.id IN :ids ORDER BY t.id")
+    List<Task> lockOwned(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Recount for TaskCounterService reconciliation: one row per (user, status, priority) present.
+    @Query("""
+        SELECT t.user.id, t.status, t.priority, COUNT(t)
+        FROM Task t
+        WHERE t.user.id IN :userIds
+        GROUP BY t.user.id, t.status, t.priority
+        """)
+    List<Object[]> countByUser(@Param("userIds") Collection<Long> userIds);
 
+    // Forward-only read for exports: DTO rows, so nothing piles up in the persistence context,
+    // pulled from the driver FETCH_SIZE rows at a time (PostgreSQL only honours that inside a
+    // transaction). The caller must close the stream.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
-        SELECT t FROM Task t
+        SELECT new com.snaplist_backend.dto.TaskResponse(
+            t.id, t.text, t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt)
+        FROM Task t
         WHERE t.user.id = :userId
-        AND t.status = com.snaplist_backend.domain.Task$Status.PENDING
-        AND t.dueDate < :today
+        ORDER BY t.createdAt DESC, t.id DESC
         """)
-    Page<Task> findOverdueTasks(
-            @Param("userId") Long userId,
-            @Param("today") LocalDate today,
-            Pageable pageable
-    );
+    Stream<TaskResponse> streamResponses(@Param("userId") Long userId);
 
-   @Query("""
-        SELECT t FROM Task t
+    // Delta sync: tasks created or updated after the keyset position (updated_at, id) and no
+    // later than the horizon, oldest first. Served by idx_task_user_updated.
+    @Query("""
+        SELECT new com.snaplist_backend.dto.TaskResponse(
+            t.id, t.text, t.status, t.priority, t.dueDate, t.createdAt, t.updatedAt)
+        FROM Task t
         WHERE t.user.id = :userId
-        AND LOWER(t.text) LIKE LOWER(CONCAT('%', :q, '%')) 
+        AND t.updatedAt <= :horizon
+        AND (t.updatedAt > :updatedAt OR (t.updatedAt = :updatedAt AND t.id > :id))
+        ORDER BY t.updatedAt, t.id
         """)
-   Page<Task> searchByText(
-           @Param("userId") Long userId,
-           @Param("q") String q,
-           Pageable pageable
+    List<TaskResponse> findChangedSince(
+            @Param("userId") Long userId,
+            @Param("updatedAt") Instant updatedAt,
+            @Param("id") Long id,
+            @Param("horizon") Instant horizon,
+            Limit limit
     );
 }
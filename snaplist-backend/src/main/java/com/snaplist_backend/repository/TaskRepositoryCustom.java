@@ -0,0 +1,51 @@
+package com.snaplist_backend.repository;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.TaskRequest;
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.dto.TaskState;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+public interface TaskRepositoryCustom {
+
+    // Read path: rows are projected straight into TaskResponse, so nothing is attached
+    // to the persistence context (no snapshots, no User proxies, one object per row).
+    Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable);
+
+    // Same, with the total supplied by the caller (only asked for when the page can't tell).
+    Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable, LongSupplier total);
+
+    List<TaskResponse> findResponses(Specification<Task> spec, Sort sort, int limit);
+
+    Optional<TaskResponse> findResponse(Long id, Long userId);
+
+    // Owner-scoped single-statement mutations. An empty result means no row matched
+    // (the task doesn't exist or belongs to someone else).
+
+    // before holds the row's previous status and priority whenever the write sets either
+    // (null otherwise: they can't have changed).
+    record Updated(TaskState before, TaskResponse after) {}
+
+    Optional<Updated> updateOwned(Long id, Long userId, TaskRequest req, Instant now);
+
+    Optional<Updated> completeOwned(Long id, Long userId, Instant now);
+
+    Optional<TaskState> deleteOwned(Long id, Long userId);
+
+    // Batch variants: the rows the statement actually changed, each with the status and priority
+    // it had just before. The rows are locked first, so a concurrent write to the same tasks is
+    // either seen in full or waited for; ids that matched nothing are simply absent.
+
+    List<TaskState> completeAllOwned(Collection<Long> ids, Long userId, Instant now);
+
+    List<TaskState> deleteAllOwned(Collection<Long> ids, Long userId);
+}
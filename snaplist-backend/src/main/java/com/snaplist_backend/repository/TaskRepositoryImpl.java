@@ -0,0 +1,321 @@
+package com.snaplist_backend.repository;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.TaskRequest;
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.dto.TaskState;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+// Reads are Criteria constructor projections into TaskResponse.
+// On PostgreSQL every mutation is a single UPDATE ... WHERE id = ? AND user_id = ? RETURNING ...,
+// so the ownership check, the write and the read-back share one round trip. Other databases
+// (the embedded test database) get the same UPDATE followed by a SELECT.
+// Writes that can move a task between counter cells (status or priority, deletes) also hand
+// back the previous values: on PostgreSQL from a locked sub-select joined into the same
+// statement, elsewhere from a SELECT ... FOR UPDATE just before it. The batch complete/delete
+// statements follow the same two shapes over a set of ids.
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final int FETCH_SIZE = 100;
+    private static final String COLUMNS = "id, text, status, priority, due_date, created_at, updated_at";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final boolean returningSupported;
+
+    TaskRepositoryImpl(EntityManagerFactory emf) {
+        this.returningSupported = emf.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable) {
+        return findResponses(spec, pageable, () -> count(spec));
+    }
+
+    @Override
+    public Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable, LongSupplier total) {
+        TypedQuery<TaskResponse> query = responseQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TaskResponse> content = query.getResultList();
+        // the total is only needed when the page alone can't tell
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public List<TaskResponse> findResponses(Specification<Task> spec, Sort sort, int limit) {
+        return responseQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Optional<TaskResponse> findResponse(Long id, Long userId) {
+        Specification<Task> spec = (root, query, cb) -> cb.and(
+                cb.equal(root.get("id"), id),
+                cb.equal(root.get("user").get("id"), userId));
+        return responseQuery(spec, Sort.unsorted()).getResultList().stream().findFirst();
+    }
+
+    private TypedQuery<TaskResponse> responseQuery(Specification<Task> spec, Sort sort) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> cq = cb.createQuery(TaskResponse.class);
+        Root<Task> root = cq.from(Task.class);
+        cq.select(cb.construct(TaskResponse.class,
+                root.get("id"),
+                root.get("text"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("dueDate"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+
+        Predicate where = spec.toPredicate(root, cq, cb);
+        if (where != null) cq.where(where);
+        if (sort.isSorted()) cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return em.createQuery(cq)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+    }
+
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Task> root = cq.from(Task.class);
+        cq.select(cb.count(root));
+        Predicate where = spec.toPredicate(root, cq, cb);
+        if (where != null) cq.where(where);
+        return em.createQuery(cq).getSingleResult();
+    }
+
+    @Override
+    public Optional<Updated> updateOwned(Long id, Long userId, TaskRequest req, Instant now) {
+        // Same semantics as TaskMapper.updateEntity: text is always replaced, the rest only when sent.
+        Map<String, Object> set = new LinkedHashMap<>();
+        set.put("text", req.getText());
+        if (req.getStatus() != null) set.put("status", req.getStatus().name());
+        if (req.getPriority() != null) set.put("priority", req.getPriority().name());
+        if (req.getDueDate() != null) set.put("due_date", req.getDueDate());
+        set.put("updated_at", now);
+        return update(id, userId, set);
+    }
+
+    @Override
+    public Optional<Updated> completeOwned(Long id, Long userId, Instant now) {
+        Map<String, Object> set = new LinkedHashMap<>();
+        set.put("status", Task.Status.DONE.name());
+        set.put("updated_at", now);
+        return update(id, userId, set);
+    }
+
+    @Override
+    public Optional<TaskState> deleteOwned(Long id, Long userId) {
+        String sql = "DELETE FROM tasks WHERE id = :id AND user_id = :userId";
+        if (returningSupported) {
+            NativeQuery<?> query = bind(state(em.createNativeQuery(sql + " RETURNING id, status, priority")),
+                    Map.of(), id, userId);
+            return query.getResultList().stream().findFirst().map(row -> toState((Object[]) row));
+        }
+
+        Optional<TaskState> before = lockState(id, userId);
+        if (before.isPresent()) {
+            bind(em.createNativeQuery(sql).unwrap(NativeQuery.class), Map.of(), id, userId).executeUpdate();
+        }
+        return before;
+    }
+
+    @Override
+    public List<TaskState> completeAllOwned(Collection<Long> ids, Long userId, Instant now) {
+        Map<String, Object> set = Map.of("status", Task.Status.DONE.name(), "updated_at", now);
+        if (returningSupported) {
+            String sql = "UPDATE tasks SET status = :status, updated_at = :updated_at"
+                    + " FROM (SELECT id AS old_id, status AS old_status, priority AS old_priority"
+                    + " FROM tasks WHERE id IN (:ids) AND user_id = :userId ORDER BY id FOR UPDATE) prev"
+                    + " WHERE tasks.id = prev.old_id"
+                    + " RETURNING prev.old_id AS id, prev.old_status AS status, prev.old_priority AS priority";
+            return states(bindAll(state(em.createNativeQuery(sql)), set, ids, userId).getResultList());
+        }
+
+        List<TaskState> before = lockStates(ids, userId);
+        if (!before.isEmpty()) {
+            String sql = "UPDATE tasks SET status = :status, updated_at = :updated_at WHERE id IN (:ids) AND user_id = :userId";
+            bindAll(em.createNativeQuery(sql).unwrap(NativeQuery.class), set, locked(before), userId).executeUpdate();
+        }
+        return before;
+    }
+
+    @Override
+    public List<TaskState> deleteAllOwned(Collection<Long> ids, Long userId) {
+        String sql = "DELETE FROM tasks WHERE id IN (:ids) AND user_id = :userId";
+        if (returningSupported) {
+            return states(bindAll(state(em.createNativeQuery(sql + " RETURNING id, status, priority")),
+                    Map.of(), ids, userId).getResultList());
+        }
+
+        List<TaskState> before = lockStates(ids, userId);
+        if (!before.isEmpty()) {
+            bindAll(em.createNativeQuery(sql).unwrap(NativeQuery.class), Map.of(), locked(before), userId).executeUpdate();
+        }
+        return before;
+    }
+
+    private Optional<Updated> update(Long id, Long userId, Map<String, Object> set) {
+        boolean tracked = set.containsKey("status") || set.containsKey("priority");
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        set.keySet().forEach(col -> sql.append(col).append(" = :").append(col).append(", "));
+        sql.setLength(sql.length() - 2);
+
+        if (returningSupported) {
+            if (tracked) {
+                sql.append(" FROM (SELECT id AS old_id, status AS old_status, priority AS old_priority")
+                        .append(" FROM tasks WHERE id = :id AND user_id = :userId FOR UPDATE) prev")
+                        .append(" WHERE tasks.id = prev.old_id")
+                        .append(" RETURNING ").append(COLUMNS).append(", old_status, old_priority");
+            } else {
+                sql.append(" WHERE id = :id AND user_id = :userId RETURNING ").append(COLUMNS);
+            }
+            NativeQuery<?> query = typed(em.createNativeQuery(sql.toString()));
+            if (tracked) query.addScalar("old_status", String.class).addScalar("old_priority", String.class);
+            List<?> rows = bind(query, set, id, userId).getResultList();
+            return rows.stream().findFirst().map(r -> {
+                Object[] row = (Object[]) r;
+                TaskResponse after = toResponse(row);
+                TaskState before = tracked ? new TaskState(id, status(row[7]), priority(row[8])) : null;
+                return new Updated(before, after);
+            });
+        }
+
+        TaskState before = null;
+        if (tracked) {
+            Optional<TaskState> locked = lockState(id, userId);
+            if (locked.isEmpty()) return Optional.empty();
+            before = locked.get();
+        }
+        sql.append(" WHERE id = :id AND user_id = :userId");
+        int updated = bind(em.createNativeQuery(sql.toString()).unwrap(NativeQuery.class), set, id, userId)
+                .executeUpdate();
+        if (updated == 0) return Optional.empty();
+
+        NativeQuery<?> select = typed(em.createNativeQuery("SELECT " + COLUMNS + " FROM tasks WHERE id = :id"));
+        select.setParameter("id", id);
+        TaskState previous = before;
+        return select.getResultList().stream().findFirst()
+                .map(row -> new Updated(previous, toResponse((Object[]) row)));
+    }
+
+    private Optional<TaskState> lockState(Long id, Long userId) {
+        NativeQuery<?> query = state(em.createNativeQuery(
+                "SELECT id, status, priority FROM tasks WHERE id = :id AND user_id = :userId FOR UPDATE"));
+        query.setParameter("id", id);
+        query.setParameter("userId", userId);
+        return query.getResultList().stream().findFirst().map(row -> toState((Object[]) row));
+    }
+
+    // The locked rows are exactly the ones the following UPDATE/DELETE hits: nobody else can
+    // change or remove them before this transaction ends. Locked in id order, so two overlapping
+    // batches queue behind each other instead of deadlocking.
+    private List<TaskState> lockStates(Collection<Long> ids, Long userId) {
+        NativeQuery<?> query = state(em.createNativeQuery(
+                "SELECT id, status, priority FROM tasks WHERE id IN (:ids) AND user_id = :userId ORDER BY id FOR UPDATE"));
+        query.setParameterList("ids", ids);
+        query.setParameter("userId", userId);
+        return states(query.getResultList());
+    }
+
+    private static List<Long> locked(List<TaskState> states) {
+        return states.stream().map(TaskState::id).toList();
+    }
+
+    private NativeQuery<?> bindAll(NativeQuery<?> query, Map<String, Object> set, Collection<Long> ids, Long userId) {
+        set.forEach(query::setParameter);
+        query.setParameterList("ids", ids);
+        query.setParameter("userId", userId);
+        query.addSynchronizedEntityClass(Task.class);
+        return query;
+    }
+
+    private NativeQuery<?> bind(NativeQuery<?> query, Map<String, Object> set, Long id, Long userId) {
+        set.forEach(query::setParameter);
+        query.setParameter("id", id);
+        query.setParameter("userId", userId);
+        // keeps Hibernate's caches and auto-flush aware that this native SQL touches tasks
+        query.addSynchronizedEntityClass(Task.class);
+        return query;
+    }
+
+    private NativeQuery<?> typed(jakarta.persistence.Query query) {
+        return query.unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("text", String.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("due_date", LocalDate.class)
+                .addScalar("created_at", Instant.class)
+                .addScalar("updated_at", Instant.class);
+    }
+
+    private NativeQuery<?> state(jakarta.persistence.Query query) {
+        return query.unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class);
+    }
+
+    private static List<TaskState> states(List<?> rows) {
+        return rows.stream().map(row -> toState((Object[]) row)).toList();
+    }
+
+    private static TaskState toState(Object[] row) {
+        return new TaskState((Long) row[0], status(row[1]), priority(row[2]));
+    }
+
+    private static Task.Status status(Object value) {
+        return value == null ? null : Task.Status.valueOf((String) value);
+    }
+
+    private static Task.Priority priority(Object value) {
+        return value == null ? null : Task.Priority.valueOf((String) value);
+    }
+
+    private static TaskResponse toResponse(Object[] row) {
+        TaskResponse r = new TaskResponse();
+        r.setId((Long) row[0]);
+        r.setText((String) row[1]);
+        r.setStatus(status(row[2]));
+        r.setPriority(priority(row[3]));
+        r.setDueDate((LocalDate) row[4]);
+        r.setCreatedAt((Instant) row[5]);
+        r.setUpdatedAt((Instant) row[6]);
+        return r;
+    }
+}
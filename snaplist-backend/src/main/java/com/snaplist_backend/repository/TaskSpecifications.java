@@ -0,0 +1,53 @@
+package com.snaplist_backend.repository;
+
+import com.snaplist_backend.domain.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Builds one WHERE clause out of whichever list filters the client sent
+// (text search is added separately by the configured TaskTextSearch).
+// user_id always comes first so the composite indexes on tasks can serve the query.
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {}
+
+    public static Specification<Task> forUser(Long userId,
+                                              Task.Status status,
+                                              Task.Priority priority,
+                                              LocalDate dueBefore,
+                                              LocalDate dueAfter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (priority != null) {
+                predicates.add(cb.equal(root.get("priority"), priority));
+            }
+            // Both bounds are inclusive.
+            if (dueAfter != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), dueAfter));
+            }
+            if (dueBefore != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), dueBefore));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Keyset condition for (created_at DESC, id DESC): rows strictly after the given position.
+    public static Specification<Task> after(Instant createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id))
+        );
+    }
+}
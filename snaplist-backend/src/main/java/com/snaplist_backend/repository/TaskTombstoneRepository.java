@@ -0,0 +1,34 @@
+package com.snaplist_backend.repository;
+
+import com.snaplist_backend.domain.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    // Keyset page over (deleted_at, id), bounded above by the sync horizon.
+    @Query("""
+        SELECT d FROM TaskTombstone d
+        WHERE d.userId = :userId
+        AND d.deletedAt <= :horizon
+        AND (d.deletedAt > :deletedAt OR (d.deletedAt = :deletedAt AND d.id > :id))
+        ORDER BY d.deletedAt, d.id
+        """)
+    List<TaskTombstone> findDeletedSince(
+            @Param("userId") Long userId,
+            @Param("deletedAt") Instant deletedAt,
+            @Param("id") Long id,
+            @Param("horizon") Instant horizon,
+            Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone d WHERE d.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
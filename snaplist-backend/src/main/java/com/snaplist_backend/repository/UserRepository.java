@@ -1,10 +1,22 @@
 package com.snaplist_backend.repository;
 
 import com.snaplist_backend.domain.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
 }
@@ -0,0 +1,36 @@
+package com.snaplist_backend.search;
+
+import com.snaplist_backend.domain.Task;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Portable fallback (H2 and friends): each term is a case-insensitive substring match.
+// Rows where the first term appears earliest (i.e. word/prefix hits) rank first.
+@Component
+@ConditionalOnProperty(name = "snaplist.search.backend", havingValue = "substring", matchIfMissing = true)
+public class SubstringTaskSearch implements TaskTextSearch {
+
+    @Override
+    public Specification<Task> matching(String q) {
+        List<String> terms = TaskTextSearch.terms(q);
+        return (root, query, cb) -> {
+            Expression<String> text = cb.lower(root.get("text"));
+            Predicate[] predicates = terms.stream()
+                    .map(term -> cb.like(text, TaskTextSearch.containsPattern(term), '\\'))
+                    .toArray(Predicate[]::new);
+
+            if (query != null && !terms.isEmpty() && query.getResultType() != Long.class) {
+                query.orderBy(
+                        cb.asc(cb.locate(text, terms.get(0))),
+                        cb.asc(cb.length(text)),
+                        cb.desc(root.get("id")));
+            }
+            return cb.and(predicates);
+        };
+    }
+}
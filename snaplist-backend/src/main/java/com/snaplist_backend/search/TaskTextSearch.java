@@ -0,0 +1,36 @@
+package com.snaplist_backend.search;
+
+import com.snaplist_backend.domain.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Pluggable text matching for the task list "q" filter. The returned Specification
+// is ANDed with the other list filters; implementations may also add a relevance
+// ORDER BY, which only applies when the client didn't ask for an explicit sort.
+public interface TaskTextSearch {
+
+    int MAX_TERMS = 8;
+
+    Specification<Task> matching(String q);
+
+    // Lower-cased, whitespace-separated terms; every term has to match.
+    static List<String> terms(String q) {
+        return Arrays.stream(q.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    // Escapes LIKE wildcards in user input so "50%" matches literally.
+    static String containsPattern(String term) {
+        String escaped = term
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,36 @@
+package com.snaplist_backend.search;
+
+import com.snaplist_backend.domain.Task;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// PostgreSQL backend. The GIN index on lower(text) gin_trgm_ops (schema-postgresql.sql)
+// serves every LOWER(text) LIKE '%term%' predicate, so multi-term and prefix/infix
+// search no longer needs a sequential scan. Results are ranked by pg_trgm word_similarity.
+@Component
+@ConditionalOnProperty(name = "snaplist.search.backend", havingValue = "trigram")
+public class TrigramTaskSearch implements TaskTextSearch {
+
+    @Override
+    public Specification<Task> matching(String q) {
+        List<String> terms = TaskTextSearch.terms(q);
+        String rankInput = String.join(" ", terms);
+        return (root, query, cb) -> {
+            Expression<String> text = cb.lower(root.get("text"));
+            Predicate[] predicates = terms.stream()
+                    .map(term -> cb.like(text, TaskTextSearch.containsPattern(term), '\\'))
+                    .toArray(Predicate[]::new);
+
+            if (query != null && !terms.isEmpty() && query.getResultType() != Long.class) {
+                Expression<Double> rank = cb.function("word_similarity", Double.class, cb.literal(rankInput), text);
+                query.orderBy(cb.desc(rank), cb.desc(root.get("id")));
+            }
+            return cb.and(predicates);
+        };
+    }
+}
@@ -0,0 +1,72 @@
+package com.snaplist_backend.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caps requests in flight at a limit that follows database latency (AIMD): while the moving
+// average of statement time stays under the target the limit creeps up by one per adjustment,
+// once it goes over the limit is cut by 10%. Requests above the limit are shed immediately,
+// which keeps queues (and with them latency) from building up in front of the connection pool.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double ALPHA = 0.05;
+
+    private final long targetNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToLongBits(0));
+
+    public AdaptiveConcurrencyLimiter(long targetNanos, int initialLimit, int minLimit, int maxLimit) {
+        this.targetNanos = targetNanos;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = new AtomicInteger(Math.clamp(initialLimit, minLimit, maxLimit));
+    }
+
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // Exponentially weighted moving average of statement latency (CAS on the double's bits).
+    public void onLatency(long nanos) {
+        while (true) {
+            long bits = averageBits.get();
+            double avg = Double.longBitsToDouble(bits);
+            double next = avg == 0 ? nanos : avg + ALPHA * (nanos - avg);
+            if (averageBits.compareAndSet(bits, Double.doubleToLongBits(next))) return;
+        }
+    }
+
+    // Called on a fixed schedule.
+    public void adjust() {
+        double avg = averageLatencyNanos();
+        if (avg > targetNanos) {
+            limit.updateAndGet(l -> Math.max(minLimit, (int) (l * 0.9)));
+        } else if (inFlight.get() * 2 >= limit.get()) {
+            // only grow while the current limit is actually being used
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    public double averageLatencyNanos() {
+        return Double.longBitsToDouble(averageBits.get());
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
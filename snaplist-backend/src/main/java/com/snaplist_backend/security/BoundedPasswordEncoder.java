@@ -0,0 +1,136 @@
+package com.snaplist_backend.security;
+
+import com.snaplist_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// BCrypt on its own small pool instead of on request threads. At most `threads` hashes run at
+// once and `queueCapacity` more wait; anything beyond that fails fast with a 503, so a burst
+// of logins can tie up only threads + queue request threads, never the whole Tomcat pool.
+//
+// Stored hashes below the configured strength report upgradeEncoding() = true, which makes
+// Spring Security rehash them on the next successful login (CustomUserDetailsService.updatePassword).
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final ThreadPoolExecutor pool;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, MeterRegistry registry) {
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+
+        AtomicInteger n = new AtomicInteger();
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue,
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.queueWait = Timer.builder("snaplist.password.queue.wait")
+                .description("Time password work waited for a hashing thread")
+                .register(registry);
+        this.rejected = Counter.builder("snaplist.password.rejected")
+                .description("Password work refused because the hashing queue was full")
+                .register(registry);
+        Gauge.builder("snaplist.password.queue", pool, p -> p.getQueue().size())
+                .description("Password work waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("snaplist.password.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(registry);
+        Gauge.builder("snaplist.password.strength", bcrypt, b -> strength)
+                .description("BCrypt cost factor for new hashes")
+                .register(registry);
+    }
+
+    // Highest cost whose hash takes at most targetMs here (each step doubles the time),
+    // measured once at startup, kept within [10, 16].
+    public static int calibrate(long targetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration"); // warm-up
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double ms = Math.max((System.nanoTime() - start) / 1_000_000.0, 0.1);
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && ms * 2 <= targetMs) {
+            strength++;
+            ms *= 2;
+        }
+        log.info("BCrypt strength {} (~{} ms per hash, target {} ms)", strength, Math.round(ms), targetMs);
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> bcrypt.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bcrypt.upgradeEncoding(encodedPassword);
+    }
+
+    // Called by Spring on shutdown (inferred destroy method).
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many sign-ins in progress. Try again shortly.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("snaplist.password.hash")
+                .description("BCrypt work by operation, excluding queue time")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
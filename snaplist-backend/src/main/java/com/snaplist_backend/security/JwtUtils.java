@@ -1,58 +1,116 @@
 package com.snaplist_backend.security;
 
+import com.snaplist_backend.util.ExpiringLruCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
 @Component
 
 public class JwtUtils {
 
+    public record IssuedToken(String token, Date expiresAt) {}
+
+    // What the rest of the app needs from a verified token. Immutable, unlike jjwt's Claims,
+    // so one cached instance can be handed to every request presenting the token.
+    public record VerifiedToken(String subject, Long userId, Date expiresAt) {
+        boolean isExpired() {
+            return expiresAt != null && expiresAt.getTime() <= System.currentTimeMillis();
+        }
+    }
+
     private final Key key;
     private final long expirationMs;
 
+    // JwtParser is immutable and thread-safe, so one instance serves every request.
+    private final JwtParser parser;
+
+    // Verified tokens keyed by a SHA-256 digest of the token, kept until the token expires.
+    private final ExpiringLruCache<String, VerifiedToken> verifiedTokens;
+
+    // Cloned per digest rather than held in a ThreadLocal: request threads are virtual, so a
+    // ThreadLocal would be a new MessageDigest per request anyway.
+    private final MessageDigest sha256;
 
     public JwtUtils(@Value("${jwt.secret}") String secret,
-                    @Value("${jwt.expiration-ms}") long expirationMs) {
+                    @Value("${jwt.expiration-ms}") long expirationMs,
+                    @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
 
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = new ExpiringLruCache<>(verifiedCacheSize, Duration.ofMillis(expirationMs));
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    public String generateToken(String username, Long userId) {
+    public IssuedToken issueToken(String username, Long userId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
 
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .setSubject(username)
                 .claim("uid", userId)
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
+        return new IssuedToken(token, expiry);
+    }
 
+    public String generateToken(String username, Long userId) {
+        return issueToken(username, userId).token();
+    }
+
+    // Single verify-and-extract call: signature and expiry are checked once and the
+    // result is remembered, so repeat requests with the same token skip the parse.
+    // Throws JwtException when the token is malformed, tampered with or expired.
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired()) return cached;
+            verifiedTokens.invalidate(digest);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(), claims.get("uid", Long.class), claims.getExpiration());
+        if (verified.expiresAt() != null) {
+            verifiedTokens.put(digest, verified,
+                    Duration.ofMillis(verified.expiresAt().getTime() - System.currentTimeMillis()));
+        }
+        return verified;
     }
 
     public boolean validateToken(String token) {
         try {
-
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            verify(token);
             return true;
         } catch (JwtException ex) {
             return false;
         }
     }
 
-    public Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private String digest(String token) {
+        try {
+            byte[] hash = ((MessageDigest) sha256.clone()).digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest is not cloneable", e);
+        }
     }
 }
@@ -0,0 +1,158 @@
+package com.snaplist_backend.security;
+
+import com.snaplist_backend.monitoring.SqlMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+// Runs right after JwtAuthFilter (SecurityConfig). Two guards for authenticated requests:
+//  1. per-user token buckets, with separate budgets for reads, writes and text searches => 429;
+//  2. an adaptive cap on requests in flight, driven by database latency => 503.
+// Anonymous requests pass through untouched (authorization rejects them further down).
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean rateLimitEnabled;
+    private final boolean sheddingEnabled;
+    private final TokenBucketRateLimiter buckets;
+    private final AdaptiveConcurrencyLimiter concurrency;
+    private final LongConsumer latencyListener;
+
+    //Metrics
+    private final Map<TokenBucketRateLimiter.Category, Counter> throttled = new EnumMap<>(TokenBucketRateLimiter.Category.class);
+    private final Counter shed;
+
+    public RateLimitFilter(MeterRegistry registry,
+                           @Value("${snaplist.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                           @Value("${snaplist.rate-limit.read.per-second:20}") double readRate,
+                           @Value("${snaplist.rate-limit.read.burst:40}") int readBurst,
+                           @Value("${snaplist.rate-limit.write.per-second:5}") double writeRate,
+                           @Value("${snaplist.rate-limit.write.burst:20}") int writeBurst,
+                           @Value("${snaplist.rate-limit.search.per-second:2}") double searchRate,
+                           @Value("${snaplist.rate-limit.search.burst:10}") int searchBurst,
+                           @Value("${snaplist.rate-limit.max-users:100000}") int maxUsers,
+                           @Value("${snaplist.load-shedding.enabled:true}") boolean sheddingEnabled,
+                           @Value("${snaplist.load-shedding.target-db-latency-ms:50}") long targetLatencyMs,
+                           @Value("${snaplist.load-shedding.initial-limit:100}") int initialLimit,
+                           @Value("${snaplist.load-shedding.min-limit:10}") int minLimit,
+                           @Value("${snaplist.load-shedding.max-limit:400}") int maxLimit) {
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.sheddingEnabled = sheddingEnabled;
+        this.buckets = new TokenBucketRateLimiter(
+                new TokenBucketRateLimiter.Limit(readRate, readBurst),
+                new TokenBucketRateLimiter.Limit(writeRate, writeBurst),
+                new TokenBucketRateLimiter.Limit(searchRate, searchBurst),
+                maxUsers);
+        this.concurrency = new AdaptiveConcurrencyLimiter(
+                TimeUnit.MILLISECONDS.toNanos(targetLatencyMs), initialLimit, minLimit, maxLimit);
+        this.latencyListener = concurrency::onLatency;
+
+        for (TokenBucketRateLimiter.Category c : TokenBucketRateLimiter.Category.values()) {
+            throttled.put(c, Counter.builder("snaplist.ratelimit.rejected")
+                    .description("Requests refused by the per-user rate limit")
+                    .tag("category", c.name().toLowerCase())
+                    .register(registry));
+        }
+        this.shed = Counter.builder("snaplist.loadshed.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .register(registry);
+        Gauge.builder("snaplist.ratelimit.users", buckets, TokenBucketRateLimiter::size)
+                .description("Users with rate limit state in memory")
+                .register(registry);
+        Gauge.builder("snaplist.loadshed.limit", concurrency, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("snaplist.loadshed.inflight", concurrency, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Authenticated requests in flight")
+                .register(registry);
+        Gauge.builder("snaplist.loadshed.db.latency", concurrency, c -> c.averageLatencyNanos() / 1_000_000.0)
+                .description("Moving average of SQL statement time (ms) driving the limit")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req,
+                                    HttpServletResponse res,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        if (rateLimitEnabled) {
+            TokenBucketRateLimiter.Category category = category(req);
+            long waitNanos = buckets.tryAcquire(principal.getId(), category, System.nanoTime());
+            if (waitNanos > 0) {
+                throttled.get(category).increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+                reject(res, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests. Slow down.");
+                return;
+            }
+        }
+
+        if (!sheddingEnabled) {
+            chain.doFilter(req, res);
+            return;
+        }
+        if (!concurrency.tryAcquire()) {
+            shed.increment();
+            reject(res, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy. Try again shortly.");
+            return;
+        }
+        //the statements this request runs are what the limit adapts to
+        SqlMonitor.bindLatencyListener(latencyListener);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            SqlMonitor.unbindLatencyListener();
+            concurrency.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${snaplist.load-shedding.adjust-interval-ms:250}")
+    public void adjustLimit() {
+        concurrency.adjust();
+    }
+
+    @Scheduled(fixedDelayString = "${snaplist.rate-limit.sweep-interval-ms:60000}")
+    public void sweepIdleUsers() {
+        buckets.sweep(System.nanoTime());
+    }
+
+    //Text search (?q= on the task list) gets its own, smaller budget: it is the expensive read.
+    private static TokenBucketRateLimiter.Category category(HttpServletRequest req) {
+        String method = req.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) return TokenBucketRateLimiter.Category.WRITE;
+        String q = req.getParameter("q");
+        return q != null && !q.isBlank() ? TokenBucketRateLimiter.Category.SEARCH : TokenBucketRateLimiter.Category.READ;
+    }
+
+    private static void reject(HttpServletResponse res, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        res.setStatus(status.value());
+        res.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
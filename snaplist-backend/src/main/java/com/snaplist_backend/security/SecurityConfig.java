@@ -1,5 +1,8 @@
 package com.snaplist_backend.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -7,7 +10,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -22,10 +24,12 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomUserDetailsService userDetailsService;
 
-    public SecurityConfig(JwtAuthFilter jwtAuthFilter, CustomUserDetailsService uds) {
+    public SecurityConfig(JwtAuthFilter jwtAuthFilter, RateLimitFilter rateLimitFilter, CustomUserDetailsService uds) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.userDetailsService = uds;
     }
 
@@ -39,13 +43,19 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        //async re-dispatches (SSE streams) finish a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         //(no token required)
                         .requestMatchers("/api/auth/**", "/ping", "/api/ping", "/test/**", "/h2-console/**").permitAll()
+                        //actuator is served on the management port, bound to localhost only (application.properties)
+                        .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().denyAll()
                 );
 
         http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+        //per-user rate limits and load shedding need the principal JwtAuthFilter just set
+        http.addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
@@ -75,9 +85,17 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    //BCrypt runs on its own bounded pool (see BoundedPasswordEncoder). Strength 0 means
+    //"calibrate": pick the cost that takes about target-hash-ms on this machine.
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry registry,
+            @Value("${snaplist.password.bcrypt-strength:0}") int strength,
+            @Value("${snaplist.password.target-hash-ms:250}") long targetHashMs,
+            @Value("${snaplist.password.threads:0}") int threads,
+            @Value("${snaplist.password.queue-capacity:32}") int queueCapacity) {
+        int cost = strength > 0 ? strength : BoundedPasswordEncoder.calibrate(targetHashMs);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(cost, poolSize, queueCapacity, registry);
     }
 }
@@ -0,0 +1,89 @@
+package com.snaplist_backend.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user token buckets, one per request category. Each bucket is a single AtomicLong in
+// GCRA form (the time at which it will be full again), updated with a CAS loop: no locks on
+// the request path. A bucket that has refilled completely carries no information, so idle
+// users are simply dropped by sweep() and come back as a fresh, full bucket. At most maxUsers
+// are tracked (a few more under contention): when every tracked user is still active, new
+// users are refused until a sweep frees room, rather than growing the map without bound.
+public class TokenBucketRateLimiter {
+
+    public enum Category {
+        READ,
+        WRITE,
+        SEARCH
+    }
+
+    public record Limit(double perSecond, int burst) {
+        long intervalNanos() {
+            return (long) (1_000_000_000L / perSecond);
+        }
+
+        long toleranceNanos() {
+            return intervalNanos() * burst;
+        }
+    }
+
+    private final Limit[] limits = new Limit[Category.values().length];
+    private final int maxUsers;
+    private final ConcurrentHashMap<Long, AtomicLong[]> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(Limit read, Limit write, Limit search, int maxUsers) {
+        limits[Category.READ.ordinal()] = read;
+        limits[Category.WRITE.ordinal()] = write;
+        limits[Category.SEARCH.ordinal()] = search;
+        this.maxUsers = maxUsers;
+    }
+
+    // 0 when the request may go ahead (a token was taken), otherwise nanos until one is available.
+    public long tryAcquire(Long userId, Category category, long now) {
+        Limit limit = limits[category.ordinal()];
+        AtomicLong[] userBuckets = bucketsOf(userId, now);
+        if (userBuckets == null) return limit.intervalNanos();
+        AtomicLong bucket = userBuckets[category.ordinal()];
+        long interval = limit.intervalNanos();
+        long tolerance = limit.toleranceNanos();
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) return wait;
+            if (bucket.compareAndSet(fullAt, next)) return 0;
+        }
+    }
+
+    // null when the user is new and there is no room for them
+    private AtomicLong[] bucketsOf(Long userId, long now) {
+        AtomicLong[] b = buckets.get(userId);
+        if (b != null) return b;
+        if (buckets.size() >= maxUsers) {
+            sweep(now);
+            if (buckets.size() >= maxUsers) return null;
+        }
+        return buckets.computeIfAbsent(userId, id -> {
+            AtomicLong[] fresh = new AtomicLong[Category.values().length];
+            for (int i = 0; i < fresh.length; i++) fresh[i] = new AtomicLong(Long.MIN_VALUE / 2);
+            return fresh;
+        });
+    }
+
+    // Drops users whose buckets are all full again.
+    public int sweep(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(b -> {
+            for (AtomicLong bucket : b) {
+                if (bucket.get() > now) return false;
+            }
+            return true;
+        });
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
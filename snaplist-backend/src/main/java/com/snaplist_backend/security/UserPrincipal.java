@@ -0,0 +1,42 @@
+package com.snaplist_backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Authenticated principal built from the JWT claims. It carries the user id so the
+// service layer never has to look the user up again just to scope its queries.
+public class UserPrincipal implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("USER"));
+
+    private final Long id;
+    private final String username;
+
+    public UserPrincipal(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // never needed after the token has been verified
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+}
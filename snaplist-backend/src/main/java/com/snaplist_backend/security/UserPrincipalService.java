@@ -0,0 +1,60 @@
+package com.snaplist_backend.security;
+
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.repository.UserRepository;
+import com.snaplist_backend.util.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+public class UserPrincipalService {
+
+    private final UserRepository userRepo;
+    private final boolean verifyUser;
+    private final ExpiringLruCache<String, UserPrincipal> cache;
+
+    public UserPrincipalService(UserRepository userRepo,
+                                @Value("${jwt.verify-user:false}") boolean verifyUser,
+                                @Value("${jwt.user-cache.max-size:10000}") int maxSize,
+                                @Value("${jwt.user-cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepo = userRepo;
+        this.verifyUser = verifyUser;
+        this.cache = new ExpiringLruCache<>(maxSize, Duration.ofMillis(ttlMs));
+    }
+
+    // Tokens minted by JwtUtils.generateToken carry the user id in the "uid" claim, so the
+    // principal can be built without a query. The database (through the cache) is only hit
+    // for tokens without a uid, or when jwt.verify-user asks us to confirm the account still exists.
+    public UserPrincipal resolve(String username, Long userId) {
+        if (userId != null && !verifyUser) {
+            return new UserPrincipal(userId, username);
+        }
+
+        UserPrincipal principal = cache.get(username, this::load);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        if (userId != null && !userId.equals(principal.getId())) {
+            // Username was re-registered under a different id since the token was issued.
+            throw new UsernameNotFoundException("User not found");
+        }
+        return principal;
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    private UserPrincipal load(String username) {
+        return userRepo.findByUsername(username)
+                .map(this::toPrincipal)
+                .orElse(null);
+    }
+
+    private UserPrincipal toPrincipal(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,47 @@
+package com.snaplist_backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Start times of the write transactions open in this instance. Every updated_at/deleted_at is
+// stamped inside its transaction, so nothing still uncommitted here can carry a timestamp older
+// than oldestStart(). Read-write transactions that only read (the change-version lookup, the
+// changes feed pinned to the primary) are counted too; they only hold the horizon back for the
+// few milliseconds they stay open.
+// Spring Boot registers TransactionExecutionListener beans on the auto-configured transaction manager.
+@Component
+public class InFlightWrites implements TransactionExecutionListener {
+
+    private final Map<TransactionExecution, Instant> started = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            started.put(transaction, Instant.now());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        started.remove(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        started.remove(transaction);
+    }
+
+    // null when no write transaction is open
+    public Instant oldestStart() {
+        Instant oldest = null;
+        for (Instant start : started.values()) {
+            if (oldest == null || start.isBefore(oldest)) oldest = start;
+        }
+        return oldest;
+    }
+}
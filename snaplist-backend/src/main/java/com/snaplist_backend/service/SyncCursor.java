@@ -0,0 +1,37 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// How far a client has synced: a keyset position in tasks (updated_at, id) and one in
+// tombstones (deleted_at, id). Opaque base64url to clients, like TaskCursor.
+public record SyncCursor(Instant updatedAt, long taskId, Instant deletedAt, long tombstoneId) {
+
+    public static final SyncCursor START = new SyncCursor(Instant.EPOCH, 0, Instant.EPOCH, 0);
+
+    public String encode() {
+        String raw = updatedAt.getEpochSecond() + "." + updatedAt.getNano() + ":" + taskId + ":"
+                + deletedAt.getEpochSecond() + "." + deletedAt.getNano() + ":" + tombstoneId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Blank means "from the beginning".
+    public static SyncCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return START;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 4) throw new IllegalArgumentException();
+            return new SyncCursor(instant(parts[0]), Long.parseLong(parts[1]), instant(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static Instant instant(String raw) {
+        int dot = raw.indexOf('.');
+        return Instant.ofEpochSecond(Long.parseLong(raw.substring(0, dot)), Integer.parseInt(raw.substring(dot + 1)));
+    }
+}
@@ -0,0 +1,193 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.dto.BatchItemResult;
+import com.snaplist_backend.dto.BatchResult;
+import com.snaplist_backend.dto.TaskRequest;
+import com.snaplist_backend.dto.TaskState;
+import com.snaplist_backend.dto.TaskUpdateItem;
+import com.snaplist_backend.exception.BadRequestException;
+import com.snaplist_backend.mapper.TaskMapper;
+import com.snaplist_backend.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Bulk variants of the TaskService mutations. Every item is validated before anything is
+// written; valid items are then applied in the same transaction using JDBC batches
+// (hibernate.jdbc.batch_size) or a single owner-scoped UPDATE/DELETE. Items that fail
+// validation or don't belong to the caller are reported per index instead of failing the call.
+@Service
+@RequiredArgsConstructor
+@Timed(value = "snaplist.task.service", description = "Task service calls by method")
+public class TaskBatchService {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final Validator validator;
+    private final TaskCounterService counters;
+    private final ApplicationEventPublisher events;
+
+    @Transactional
+    public BatchResult createTasks(List<TaskRequest> requests) {
+        checkSize(requests);
+        User user = userService.getCurrentUserReference();
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Task> toSave = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest req = requests.get(i);
+            Map<String, String> errors = validate(req);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, null, errors);
+                continue;
+            }
+            toSave.add(TaskMapper.toEntity(req, user));
+            positions.add(i);
+        }
+
+        List<Task> saved = taskRepository.saveAll(toSave);
+        taskRepository.flush();
+        TaskCounts.Delta delta = new TaskCounts.Delta();
+        for (int k = 0; k < saved.size(); k++) {
+            int i = positions.get(k);
+            results[i] = BatchItemResult.ok(i, TaskMapper.toResponse(saved.get(k)));
+            delta.add(saved.get(k).getStatus(), saved.get(k).getPriority());
+        }
+        if (!saved.isEmpty()) counters.apply(user.getId(), delta);
+        changed(user.getId(), TaskChangedEvent.Kind.CREATED, saved.stream().map(Task::getId).toList());
+        return new BatchResult(Arrays.asList(results));
+    }
+
+    @Transactional
+    public BatchResult updateTasks(List<TaskUpdateItem> items) {
+        checkSize(items);
+        Long userId = userService.getCurrentUserId();
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskUpdateItem item = items.get(i);
+            Map<String, String> errors = validate(item);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, item.getId(), errors);
+            } else {
+                ids.add(item.getId());
+            }
+        }
+
+        // one locking SELECT for all owned rows, then batched UPDATEs at flush
+        Map<Long, Task> owned = ids.isEmpty() ? Map.of() : taskRepository.lockOwned(userId, ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        TaskCounts.Delta delta = new TaskCounts.Delta();
+        owned.values().forEach(t -> delta.remove(t.getStatus(), t.getPriority()));
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) continue;
+            Task t = owned.get(items.get(i).getId());
+            if (t != null) TaskMapper.updateEntity(t, items.get(i));
+        }
+        owned.values().forEach(t -> delta.add(t.getStatus(), t.getPriority()));
+        taskRepository.flush();
+        if (!owned.isEmpty()) counters.apply(userId, delta);
+        changed(userId, TaskChangedEvent.Kind.UPDATED, List.copyOf(owned.keySet()));
+
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) continue;
+            Long id = items.get(i).getId();
+            Task t = owned.get(id);
+            results[i] = t == null ? BatchItemResult.notFound(i, id) : BatchItemResult.ok(i, TaskMapper.toResponse(t));
+        }
+        return new BatchResult(Arrays.asList(results));
+    }
+
+    @Transactional
+    public BatchResult completeTasks(List<Long> ids) {
+        checkSize(ids);
+        Long userId = userService.getCurrentUserId();
+
+        // deltas and outcomes from the rows the UPDATE actually changed, as they were before it
+        Set<Long> requested = requested(ids);
+        Map<Long, TaskState> completed = requested.isEmpty() ? Map.of()
+                : byId(taskRepository.completeAllOwned(requested, userId, Instant.now()));
+        if (!completed.isEmpty()) {
+            TaskCounts.Delta delta = new TaskCounts.Delta();
+            completed.values().forEach(t -> delta.move(t.status(), t.priority(), Task.Status.DONE, t.priority()));
+            counters.apply(userId, delta);
+            changed(userId, TaskChangedEvent.Kind.COMPLETED, List.copyOf(completed.keySet()));
+        }
+        return outcomes(ids, completed.keySet());
+    }
+
+    @Transactional
+    public BatchResult deleteTasks(List<Long> ids) {
+        checkSize(ids);
+        Long userId = userService.getCurrentUserId();
+
+        Set<Long> requested = requested(ids);
+        Map<Long, TaskState> deleted = requested.isEmpty() ? Map.of()
+                : byId(taskRepository.deleteAllOwned(requested, userId));
+        if (!deleted.isEmpty()) {
+            TaskCounts.Delta delta = new TaskCounts.Delta();
+            deleted.values().forEach(t -> delta.remove(t.status(), t.priority()));
+            counters.apply(userId, delta);
+            changed(userId, TaskChangedEvent.Kind.DELETED, List.copyOf(deleted.keySet()));
+        }
+        return outcomes(ids, deleted.keySet());
+    }
+
+    private void changed(Long userId, TaskChangedEvent.Kind kind, List<Long> taskIds) {
+        if (!taskIds.isEmpty()) events.publishEvent(new TaskChangedEvent(userId, kind, taskIds));
+    }
+
+    private static Set<Long> requested(List<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static Map<Long, TaskState> byId(List<TaskState> states) {
+        return states.stream().collect(Collectors.toMap(TaskState::id, Function.identity()));
+    }
+
+    private BatchResult outcomes(List<Long> ids, Set<Long> owned) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(BatchItemResult.invalid(i, null, Map.of("id", "Task id is required")));
+            } else {
+                results.add(owned.contains(id) ? BatchItemResult.ok(i, id) : BatchItemResult.notFound(i, id));
+            }
+        }
+        return new BatchResult(results);
+    }
+
+    private Map<String, String> validate(Object item) {
+        if (item == null) return Map.of("item", "Item cannot be null");
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<Object> v : validator.validate(item)) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return errors;
+    }
+
+    private static void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch cannot be empty");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch cannot exceed " + MAX_BATCH_SIZE + " items");
+        }
+    }
+}
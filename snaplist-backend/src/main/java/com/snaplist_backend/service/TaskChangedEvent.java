@@ -0,0 +1,17 @@
+package com.snaplist_backend.service;
+
+import java.util.List;
+
+// Published by TaskService and TaskBatchService inside the writing transaction. Listeners that
+// must only see committed data use @TransactionalEventListener (AFTER_COMMIT by default).
+// taskIds are the rows the statement actually changed (as returned or locked by it), never just
+// the ids that were asked for: a row another transaction deleted first is not in a DELETED event.
+public record TaskChangedEvent(Long userId, Kind kind, List<Long> taskIds) {
+
+    public enum Kind {
+        CREATED,
+        UPDATED,
+        COMPLETED,
+        DELETED
+    }
+}
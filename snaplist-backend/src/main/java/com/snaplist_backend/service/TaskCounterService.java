@@ -0,0 +1,154 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.TaskCounter;
+import com.snaplist_backend.repository.TaskCounterRepository;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.UserRepository;
+import com.snaplist_backend.util.ExpiringLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Per-user task totals by (status, priority) in task_counters, so paginated lists can report
+// totalElements without a COUNT over the user's tasks. Writes add their net change in the same
+// transaction (apply); reads go through a cache validated against the user's change version,
+// like TaskSummaryService. A scheduled reconciliation recounts everyone and fixes any drift
+// (rows written around the counters, or users from before the table existed); rows it corrects
+// get a new change version, so their cached reads and ETags move on with the corrected totals.
+@Service
+public class TaskCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterService.class);
+
+    // counts is null while the user has no counter row yet (lists fall back to COUNT)
+    private record Cached(long version, TaskCounts counts) {}
+
+    private final TaskCounterRepository counterRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TaskVersionService versions;
+    private final TransactionTemplate transactions;
+    private final ExpiringLruCache<Long, Cached> cache;
+    private final int batchSize;
+    private final Counter corrected;
+
+    public TaskCounterService(TaskCounterRepository counterRepository,
+                              TaskRepository taskRepository,
+                              UserRepository userRepository,
+                              TaskVersionService versions,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry registry,
+                              @Value("${snaplist.task-counters.cache-max-size:10000}") int maxSize,
+                              @Value("${snaplist.task-counters.cache-ttl-ms:600000}") long ttlMs,
+                              @Value("${snaplist.task-counters.reconcile-batch-size:200}") int batchSize) {
+        this.counterRepository = counterRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.versions = versions;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.cache = new ExpiringLruCache<>(maxSize, Duration.ofMillis(ttlMs));
+        this.batchSize = batchSize;
+        this.corrected = Counter.builder("snaplist.task-counters.corrected")
+                .description("Counter rows that reconciliation found out of step with the tasks table")
+                .register(registry);
+    }
+
+    // New users start with an empty row, in place before their first write.
+    @Transactional
+    public void initialize(Long userId) {
+        counterRepository.createIfAbsent(userId, 0, 0, 0, 0, 0, 0);
+    }
+
+    // Part of the caller's write transaction: the counters commit or roll back with the tasks.
+    // Every task write calls this, even with an empty delta (a text edit): the same UPDATE moves
+    // the user's change version on.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, TaskCounts.Delta delta) {
+        long[] d = delta.cells();
+        counterRepository.add(userId, d[0], d[1], d[2], d[3], d[4], d[5]);
+    }
+
+    // Number of the user's tasks matching the status/priority filters (null = any), or empty
+    // if the user has no counter row yet.
+    public OptionalLong total(Long userId, Task.Status status, Task.Priority priority) {
+        // version before the load (protocol: TaskVersionService)
+        long version = versions.current(userId);
+        Cached cached = cache.get(userId);
+        if (cached == null || cached.version() != version) {
+            TaskCounts counts = counterRepository.findById(userId)
+                    .map(c -> new TaskCounts(c.cells()))
+                    .orElse(null);
+            cached = new Cached(version, counts);
+            if (versions.taggable()) cache.put(userId, cached);
+        }
+        return cached.counts() == null ? OptionalLong.empty() : OptionalLong.of(cached.counts().count(status, priority));
+    }
+
+    @Scheduled(initialDelayString = "${snaplist.task-counters.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${snaplist.task-counters.reconcile-interval-ms:3600000}")
+    public void reconcileAll() {
+        long started = System.nanoTime();
+        int users = 0, fixed = 0;
+        long after = 0;
+        while (true) {
+            List<Long> ids = userRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (ids.isEmpty()) break;
+            List<Long> fixedIds = new ArrayList<>();
+            transactions.executeWithoutResult(status -> reconcile(ids, fixedIds));
+            fixed += fixedIds.size();
+            users += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        if (fixed > 0) {
+            log.info("Task counter reconciliation: {} of {} users fixed or created in {} ms",
+                    fixed, users, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    // The counter rows are locked before the recount. A write that already updated its row holds
+    // that lock until it commits, so the recount sees it; a write that hasn't got there yet waits
+    // and adds its delta on top of the corrected value. Either way nothing is lost or counted twice.
+    // Collects the users whose totals changed (wrong or missing rows).
+    private void reconcile(List<Long> userIds, List<Long> fixedIds) {
+        Map<Long, TaskCounter> stored = counterRepository.lockAll(userIds).stream()
+                .collect(Collectors.toMap(TaskCounter::getUserId, Function.identity()));
+
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Object[] row : taskRepository.countByUser(userIds)) {
+            if (row[1] == null || row[2] == null) continue;
+            long[] cells = actual.computeIfAbsent((Long) row[0], id -> new long[TaskCounts.CELLS]);
+            cells[TaskCounts.cell((Task.Status) row[1], (Task.Priority) row[2])] += ((Number) row[3]).longValue();
+        }
+
+        for (Long userId : userIds) {
+            long[] cells = actual.getOrDefault(userId, new long[TaskCounts.CELLS]);
+            TaskCounter counter = stored.get(userId);
+            if (counter == null) {
+                counterRepository.createIfAbsent(userId, cells[0], cells[1], cells[2], cells[3], cells[4], cells[5]);
+                fixedIds.add(userId);
+            } else if (!Arrays.equals(counter.cells(), cells)) {
+                log.debug("Task counters for user {} were {}, recounted {}",
+                        userId, Arrays.toString(counter.cells()), Arrays.toString(cells));
+                counter.setCells(cells);
+                counter.setChangeVersion(counter.getChangeVersion() + 1);
+                fixedIds.add(userId);
+                corrected.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.Task;
+
+// A user's task totals by (status, priority), as stored in TaskCounter. Any total the list
+// filters can ask for (status, priority, both or neither) is a sum over these cells.
+public final class TaskCounts {
+
+    private static final Task.Status[] STATUSES = Task.Status.values();
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    public static final int CELLS = STATUSES.length * PRIORITIES.length;
+
+    private final long[] cells;
+
+    public TaskCounts(long[] cells) {
+        this.cells = cells.clone();
+    }
+
+    public static int cell(Task.Status status, Task.Priority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    // null matches every value, like an absent list filter
+    public long count(Task.Status status, Task.Priority priority) {
+        long n = 0;
+        for (Task.Status s : STATUSES) {
+            if (status != null && s != status) continue;
+            for (Task.Priority p : PRIORITIES) {
+                if (priority == null || p == priority) n += cells[cell(s, p)];
+            }
+        }
+        return n;
+    }
+
+    // Net change a write makes to its user's cells; applied in one statement at the end.
+    // Tasks without a status or priority aren't counted anywhere, so they're skipped here too.
+    public static final class Delta {
+
+        private final long[] cells = new long[CELLS];
+
+        public Delta add(Task.Status status, Task.Priority priority) {
+            return change(status, priority, 1);
+        }
+
+        public Delta remove(Task.Status status, Task.Priority priority) {
+            return change(status, priority, -1);
+        }
+
+        public Delta move(Task.Status fromStatus, Task.Priority fromPriority,
+                          Task.Status toStatus, Task.Priority toPriority) {
+            return remove(fromStatus, fromPriority).add(toStatus, toPriority);
+        }
+
+        private Delta change(Task.Status status, Task.Priority priority, long n) {
+            if (status != null && priority != null) cells[cell(status, priority)] += n;
+            return this;
+        }
+
+        public long[] cells() {
+            return cells.clone();
+        }
+    }
+}
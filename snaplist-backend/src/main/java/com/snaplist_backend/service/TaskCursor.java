@@ -0,0 +1,38 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Position in the (created_at DESC, id DESC) ordering. Clients only ever see the
+// base64url form, so the encoding can change without breaking the API contract.
+public record TaskCursor(Instant createdAt, Long id) {
+
+    public static TaskCursor of(TaskResponse t) {
+        return new TaskCursor(t.getCreatedAt(), t.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Blank means "first page".
+    public static TaskCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            long seconds = Long.parseLong(raw.substring(0, dot));
+            int nanos = Integer.parseInt(raw.substring(dot + 1, colon));
+            long id = Long.parseLong(raw.substring(colon + 1));
+            return new TaskCursor(Instant.ofEpochSecond(seconds, nanos), id);
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
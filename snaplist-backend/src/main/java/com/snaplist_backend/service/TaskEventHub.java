@@ -0,0 +1,163 @@
+package com.snaplist_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-memory fan-out of committed task changes to every open GET /api/tasks/stream of the
+// same user. Streams are async-servlet SseEmitters, so an idle connection holds no thread.
+// Publishing only enqueues: each stream has its own bounded queue, drained by a virtual
+// thread while there is something to send. A client that lets its queue fill up is
+// disconnected rather than buffered for; EventSource reconnects, and /changes fills the gap.
+@Service
+public class TaskEventHub {
+
+    // What a client receives, as the data of a "task" event.
+    public record Message(TaskChangedEvent.Kind kind, List<Long> ids) {}
+
+    private final UserService userService;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxPerUser;
+
+    private final ConcurrentHashMap<Long, CopyOnWriteArrayList<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter overflowed;
+
+    public TaskEventHub(UserService userService,
+                        MeterRegistry registry,
+                        @Value("${snaplist.stream.timeout-ms:1800000}") long timeoutMs,
+                        @Value("${snaplist.stream.queue-capacity:64}") int queueCapacity,
+                        @Value("${snaplist.stream.max-per-user:5}") int maxPerUser) {
+        this.userService = userService;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxPerUser = maxPerUser;
+
+        Gauge.builder("snaplist.stream.connections", connections, AtomicInteger::get)
+                .description("Open task event streams")
+                .register(registry);
+        this.overflowed = Counter.builder("snaplist.stream.overflows")
+                .description("Task event streams closed because the client fell behind")
+                .register(registry);
+    }
+
+    // Opens a stream for the current user. Past maxPerUser, the user's oldest stream is closed.
+    public SseEmitter subscribe() {
+        Subscriber s = new Subscriber(userService.getCurrentUserId(), new SseEmitter(timeoutMs));
+        s.emitter.onCompletion(s::close);
+        s.emitter.onTimeout(s::close);
+        s.emitter.onError(e -> s.close());
+
+        Subscriber[] evicted = new Subscriber[1];
+        subscribers.compute(s.userId, (id, list) -> {
+            if (list == null) list = new CopyOnWriteArrayList<>();
+            list.add(s);
+            if (list.size() > maxPerUser) evicted[0] = list.remove(0);
+            return list;
+        });
+        connections.incrementAndGet();
+        if (evicted[0] != null) evicted[0].disconnect();
+
+        // sends the response headers right away, so the client sees the stream as open
+        s.offer(SseEmitter.event().comment("connected"));
+        return s.emitter;
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<Subscriber> list = subscribers.get(event.userId());
+        if (list == null) return;
+        Message message = new Message(event.kind(), event.taskIds());
+        for (Subscriber s : list) {
+            s.offer(SseEmitter.event().name("task").data(message, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // Keeps idle streams alive through proxies and weeds out connections that died silently.
+    @Scheduled(fixedDelayString = "${snaplist.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> list : subscribers.values()) {
+            for (Subscriber s : list) s.offer(SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::disconnect));
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) return;
+            if (!queue.offer(event)) {
+                overflowed.increment();
+                disconnect();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        // One drainer per stream at a time; re-checks the queue after letting go of the flag,
+        // so an offer racing with the end of a drain is never left behind.
+        private void drain() {
+            do {
+                try {
+                    SseEmitter.SseEventBuilder event;
+                    while (!closed.get() && (event = queue.poll()) != null) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close(); // client gone (or the emitter already completed)
+                } finally {
+                    draining.set(false);
+                }
+            } while (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void disconnect() {
+            close();
+            emitter.complete();
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            queue.clear();
+            subscribers.computeIfPresent(userId, (id, list) -> {
+                list.remove(this);
+                return list.isEmpty() ? null : list;
+            });
+            connections.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+// Writes every task of the current user straight from a database cursor to the caller's
+// Writer, one row at a time: memory use is the same for 100 tasks or 5 million.
+@Service
+@Timed(value = "snaplist.task.service", description = "Task service calls by method")
+public class TaskExportService {
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final ObjectWriter json;
+
+    public TaskExportService(TaskRepository taskRepository, UserService userService, JsonMapper jsonMapper) {
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+        this.json = jsonMapper.writerFor(TaskResponse.class);
+    }
+
+    // Read-only transaction held for the whole write, so the cursor stays open. Returns the row count.
+    @Transactional(readOnly = true)
+    public long export(TaskFileFormat format, Writer out) throws IOException {
+        Long userId = userService.getCurrentUserId();
+        long rows = 0;
+        if (format == TaskFileFormat.CSV) out.write(TaskFileFormat.CSV_HEADER + "\n");
+        try (Stream<TaskResponse> tasks = taskRepository.streamResponses(userId)) {
+            for (TaskResponse t : (Iterable<TaskResponse>) tasks::iterator) {
+                if (format == TaskFileFormat.CSV) writeCsv(t, out);
+                else out.write(json.writeValueAsString(t));
+                out.write('\n');
+                rows++;
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    private static void writeCsv(TaskResponse t, Writer out) throws IOException {
+        out.write(String.valueOf(t.getId()));
+        out.write(',');
+        out.write(csv(t.getText()));
+        out.write(',');
+        out.write(t.getStatus() == null ? "" : t.getStatus().name());
+        out.write(',');
+        out.write(t.getPriority() == null ? "" : t.getPriority().name());
+        out.write(',');
+        out.write(t.getDueDate() == null ? "" : t.getDueDate().toString());
+        out.write(',');
+        out.write(t.getCreatedAt() == null ? "" : t.getCreatedAt().toString());
+        out.write(',');
+        out.write(t.getUpdatedAt() == null ? "" : t.getUpdatedAt().toString());
+    }
+
+    // RFC 4180 quoting, only when the value needs it.
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,45 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// Line formats accepted by the task import and produced by the task export.
+public enum TaskFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    public static final String CSV_HEADER = "id,text,status,priority,dueDate,createdAt,updatedAt";
+
+    private final String contentType;
+    private final String extension;
+
+    TaskFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static TaskFileFormat of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported format: " + name);
+        }
+    }
+
+    public static TaskFileFormat of(MediaType mediaType) {
+        for (TaskFileFormat f : values()) {
+            if (MediaType.parseMediaType(f.contentType).equalsTypeAndSubtype(mediaType)) return f;
+        }
+        throw new BadRequestException("Unsupported content type: " + mediaType);
+    }
+}
@@ -0,0 +1,196 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.BatchItemResult;
+import com.snaplist_backend.dto.BatchResult;
+import com.snaplist_backend.dto.ImportResult;
+import com.snaplist_backend.dto.TaskRequest;
+import com.snaplist_backend.exception.BadRequestException;
+import com.snaplist_backend.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+
+// Imports a streamed NDJSON or CSV body. Rows are parsed one at a time and handed to
+// TaskBatchService.createTasks in chunks of snaplist.import.chunk-size, each chunk in its own
+// transaction (one JDBC batch), so memory is bounded by the chunk, not the file. A row that
+// can't be parsed or fails the TaskRequest rules is reported with its line number and skipped;
+// chunks already written stay written if a later one fails.
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+    private static final int MAX_RECORD_CHARS = 16_384;
+
+    private final TaskBatchService taskBatchService;
+    private final ObjectReader json;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskImportService(TaskBatchService taskBatchService,
+                             JsonMapper jsonMapper,
+                             @Value("${snaplist.import.chunk-size:500}") int chunkSize,
+                             @Value("${snaplist.import.max-errors:100}") int maxErrors) {
+        this.taskBatchService = taskBatchService;
+        this.json = jsonMapper.readerFor(TaskRequest.class);
+        this.chunkSize = Math.clamp(chunkSize, 1, TaskBatchService.MAX_BATCH_SIZE);
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportResult importTasks(TaskFileFormat format, Reader in) {
+        Run run = new Run(System.nanoTime());
+        try {
+            if (format == TaskFileFormat.CSV) readCsv(in, run);
+            else readNdjson(in, run);
+            run.flush();
+        } catch (CsvReader.RecordTooLongException e) {
+            run.flush();
+            run.aborted = e.getMessage();
+        } catch (IOException e) {
+            // client went away mid-upload: keep what was committed, report where we stopped
+            run.aborted = "Upload interrupted: " + e.getMessage();
+        }
+        ImportResult result = run.result();
+        log.info("Imported {} of {} rows in {} ms ({} rows/s)", result.getImported(), result.getRows(),
+                result.getElapsedMs(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void readNdjson(Reader in, Run run) throws IOException {
+        StringBuilder line = new StringBuilder();
+        long lineNo = 0;
+        while (readLine(in, line, ++lineNo)) {
+            if (line.toString().isBlank()) continue;
+            try {
+                run.add(lineNo, json.readValue(line.toString()));
+            } catch (JacksonException e) {
+                run.reject(lineNo, Map.of("row", e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private void readCsv(Reader in, Run run) throws IOException {
+        CsvReader csv = new CsvReader(in, MAX_RECORD_CHARS);
+        List<String> header = csv.next();
+        if (header == null) return;
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("text")) {
+            throw new BadRequestException("CSV header must have a 'text' column");
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) continue;
+            Map<String, String> errors = new HashMap<>();
+            TaskRequest req = new TaskRequest();
+            req.setText(cell(record, columns, "text"));
+            req.setStatus(parse(cell(record, columns, "status"), "status", errors,
+                    v -> Task.Status.valueOf(v.toUpperCase(Locale.ROOT))));
+            req.setPriority(parse(cell(record, columns, "priority"), "priority", errors,
+                    v -> Task.Priority.valueOf(v.toUpperCase(Locale.ROOT))));
+            req.setDueDate(parse(cell(record, columns, "duedate"), "dueDate", errors, LocalDate::parse));
+            if (errors.isEmpty()) run.add(csv.recordLine(), req);
+            else run.reject(csv.recordLine(), errors);
+        }
+    }
+
+    private static String cell(List<String> record, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        return i == null || i >= record.size() ? null : record.get(i);
+    }
+
+    private static <T> T parse(String value, String field, Map<String, String> errors,
+                               Function<String, T> parser) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return parser.apply(value.trim());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            errors.put(field, "Invalid value: " + value);
+            return null;
+        }
+    }
+
+    // Reads up to the next '\n' (dropping a trailing '\r') into line; false at end of input.
+    private static boolean readLine(Reader in, StringBuilder line, long lineNo) throws IOException {
+        line.setLength(0);
+        int c;
+        while ((c = in.read()) != -1 && c != '\n') {
+            if (line.length() >= MAX_RECORD_CHARS) throw new CsvReader.RecordTooLongException(lineNo, MAX_RECORD_CHARS);
+            line.append((char) c);
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') line.setLength(line.length() - 1);
+        return c != -1 || !line.isEmpty();
+    }
+
+    // State of one import call: the pending chunk and the running totals.
+    private final class Run {
+        private final long startNanos;
+        private final List<TaskRequest> chunk = new ArrayList<>(chunkSize);
+        private final List<Long> chunkLines = new ArrayList<>(chunkSize);
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+        private String aborted;
+
+        Run(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        void add(long line, TaskRequest req) {
+            rows++;
+            chunk.add(req);
+            chunkLines.add(line);
+            if (chunk.size() >= chunkSize) flush();
+        }
+
+        void reject(long line, Map<String, String> rowErrors) {
+            rows++;
+            failed(line, rowErrors);
+        }
+
+        private void failed(long line, Map<String, String> rowErrors) {
+            failed++;
+            if (errors.size() < maxErrors) errors.add(new ImportResult.RowError(line, rowErrors));
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+            BatchResult batch = taskBatchService.createTasks(chunk);
+            for (BatchItemResult item : batch.getItems()) {
+                if (item.getOutcome() == BatchItemResult.Outcome.OK) imported++;
+                else failed(chunkLines.get(item.getIndex()), item.getErrors());
+            }
+            chunk.clear();
+            chunkLines.clear();
+            // the request-scoped (open-in-view) persistence context would otherwise keep every saved task
+            entityManager.clear();
+        }
+
+        ImportResult result() {
+            long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+            double perSecond = rows * 1_000_000_000.0 / elapsedNanos;
+            return new ImportResult(rows, imported, failed, errors, failed > errors.size(), aborted,
+                    elapsedNanos / 1_000_000, perSecond);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.util.ExpiringLruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+// In-process cache in front of the two hot reads, GET /api/tasks/{id} and offset list pages.
+// Entries are per user and tagged with the change version they were read under
+// (TaskVersionService), so a committed write retires exactly that user's entries and nobody
+// else's; size and TTL bound the rest. Like TaskSummaryService it is not @Transactional:
+// a hit costs the version lookup and nothing else.
+// Hibernate's second-level cache wouldn't help here: these reads are DTO projections, and its
+// query cache is invalidated for everyone by any write to the tasks table.
+@Service
+public class TaskReadCache {
+
+    private record Cached<V>(long version, V value) {}
+
+    private record TaskKey(Long userId, Long id) {}
+
+    private record ListKey(Long userId, String q, Task.Status status, Task.Priority priority,
+                           LocalDate dueBefore, LocalDate dueAfter, int page, int size, Sort sort) {}
+
+    private final TaskService taskService;
+    private final UserService userService;
+    private final TaskVersionService versions;
+    private final boolean enabled;
+    private final ExpiringLruCache<TaskKey, Cached<TaskResponse>> tasks;
+    private final ExpiringLruCache<ListKey, Cached<Page<TaskResponse>>> pages;
+    private final Outcomes taskOutcomes;
+    private final Outcomes pageOutcomes;
+
+    public TaskReadCache(TaskService taskService, UserService userService, TaskVersionService versions,
+                         MeterRegistry registry,
+                         @Value("${snaplist.read-cache.enabled:true}") boolean enabled,
+                         @Value("${snaplist.read-cache.max-size:50000}") int maxSize,
+                         @Value("${snaplist.read-cache.ttl-ms:300000}") long ttlMs) {
+        this.taskService = taskService;
+        this.userService = userService;
+        this.versions = versions;
+        this.enabled = enabled;
+        this.tasks = new ExpiringLruCache<>(maxSize, Duration.ofMillis(ttlMs));
+        this.pages = new ExpiringLruCache<>(maxSize, Duration.ofMillis(ttlMs));
+        this.taskOutcomes = new Outcomes(registry, "task", tasks);
+        this.pageOutcomes = new Outcomes(registry, "list", pages);
+    }
+
+    public TaskResponse getTask(Long id) {
+        if (!enabled) return taskService.getTask(id);
+        Long userId = userService.getCurrentUserId();
+        return lookup(tasks, new TaskKey(userId, id), userId, taskOutcomes, () -> taskService.getTask(id));
+    }
+
+    public Page<TaskResponse> listTasks(String q,
+                                        Task.Status status,
+                                        Task.Priority priority,
+                                        LocalDate dueBefore,
+                                        LocalDate dueAfter,
+                                        Pageable pageable) {
+        if (!enabled || pageable.isUnpaged()) {
+            return taskService.listTasks(q, status, priority, dueBefore, dueAfter, pageable);
+        }
+        Long userId = userService.getCurrentUserId();
+        ListKey key = new ListKey(userId, q == null || q.isBlank() ? null : q, status, priority,
+                dueBefore, dueAfter, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return lookup(pages, key, userId, pageOutcomes,
+                () -> taskService.listTasks(q, status, priority, dueBefore, dueAfter, pageable));
+    }
+
+    private <K, V> V lookup(ExpiringLruCache<K, Cached<V>> cache, K key, Long userId, Outcomes outcomes,
+                            Supplier<V> loader) {
+        // version before the load (protocol: TaskVersionService)
+        long version = versions.current(userId);
+        Cached<V> cached = cache.get(key);
+        if (cached != null && cached.version() == version) {
+            outcomes.hit.increment();
+            return cached.value();
+        }
+        (cached == null ? outcomes.miss : outcomes.stale).increment();
+        V value = loader.get();
+        if (versions.taggable()) cache.put(key, new Cached<>(version, value));
+        return value;
+    }
+
+    private static final class Outcomes {
+        final Counter hit;
+        final Counter miss;
+        final Counter stale;
+
+        Outcomes(MeterRegistry registry, String cache, ExpiringLruCache<?, ?> entries) {
+            hit = outcome(registry, cache, "hit");
+            miss = outcome(registry, cache, "miss");
+            // present but written under an older version: the user has changed something since
+            stale = outcome(registry, cache, "stale");
+            FunctionCounter.builder("snaplist.read-cache.evictions", entries, ExpiringLruCache::evictions)
+                    .description("Entries dropped for size or expiry")
+                    .tag("cache", cache)
+                    .register(registry);
+            Gauge.builder("snaplist.read-cache.size", entries, ExpiringLruCache::size)
+                    .tag("cache", cache)
+                    .register(registry);
+        }
+
+        private static Counter outcome(MeterRegistry registry, String cache, String result) {
+            return Counter.builder("snaplist.read-cache.requests")
+                    .description("Task read cache lookups by outcome")
+                    .tag("cache", cache)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
@@ -3,34 +3,66 @@ package com.snaplist_backend.service;
 
 import com.snaplist_backend.domain.Task;
 import com.snaplist_backend.domain.User;
+import com.snaplist_backend.dto.CursorPage;
 import com.snaplist_backend.dto.TaskRequest;
 import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.dto.TaskState;
 import com.snaplist_backend.exception.ResourceNotFoundException;
 import com.snaplist_backend.mapper.TaskMapper;
 import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.TaskRepositoryCustom;
+import com.snaplist_backend.repository.TaskSpecifications;
+import com.snaplist_backend.search.TaskTextSearch;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.LongSupplier;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "snaplist.task.service", description = "Task service calls by method")
 public class TaskService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final TaskRepository taskRepository;
     private final UserService userService;
+    private final TaskTextSearch textSearch;
+    private final TaskVersionService versions;
+    private final TaskCounterService counters;
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public TaskResponse createTask(TaskRequest req) {
-        User user = userService.getCurrentUser();
+        User user = userService.getCurrentUserReference();
         Task t = TaskMapper.toEntity(req, user);
         Task saved = taskRepository.save(t);
+        counters.apply(user.getId(), new TaskCounts.Delta().add(saved.getStatus(), saved.getPriority()));
+        changed(user.getId(), TaskChangedEvent.Kind.CREATED, saved.getId());
         return TaskMapper.toResponse(saved);
     }
 
+    // Change version of everything the current user can read; the controllers build ETags from it.
+    public long currentVersion() {
+        return versions.current(userService.getCurrentUserId());
+    }
+
+    // False once the current request has read from the replica: its result gets no ETag.
+    public boolean readsTaggable() {
+        return versions.taggable();
+    }
+
     @Transactional(readOnly = true)
     public Page<TaskResponse> listTasks(String q,
                                         Task.Status status,
@@ -40,58 +72,103 @@ public class TaskService {
                                         Pageable pageable) {
         Long userId = userService.getCurrentUserId();
 
-        // prioritize explicit filters
-        if (status != null) {
-            return taskRepository.findByUserIdAndStatus(userId, status, pageable)
-                    .map(TaskMapper::toResponse);
-        }
-        if (priority != null) {
-            return taskRepository.findByUserIdAndPriority(userId, priority, pageable)
-                    .map(TaskMapper::toResponse);
-        }
-        if (dueBefore != null && dueAfter != null) {
-            // naive approach: filter in DB by range - add repository method if you want DB-level range
-            // fallback: fetch user's tasks page and filter in memory (but for Phase 3 we assume small pages)
+        // every filter the client sent is applied together, in a single query
+        Specification<Task> spec = filters(userId, q, status, priority, dueBefore, dueAfter);
+
+        // status/priority filters alone are answered by the per-user counters; text and due date
+        // filters (or a user the counters don't know yet) still need the COUNT
+        boolean counted = (q == null || q.isBlank()) && dueBefore == null && dueAfter == null;
+        LongSupplier total = () -> counted
+                ? counters.total(userId, status, priority).orElseGet(() -> taskRepository.count(spec))
+                : taskRepository.count(spec);
+        return taskRepository.findResponses(spec, pageable, total);
+    }
+
+    // Keyset mode: one index range scan on (user_id, created_at, id), no COUNT query.
+    // One extra row is fetched to learn whether another page exists.
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> listTasksAfter(String q,
+                                                   Task.Status status,
+                                                   Task.Priority priority,
+                                                   LocalDate dueBefore,
+                                                   LocalDate dueAfter,
+                                                   String after,
+                                                   int size) {
+        Long userId = userService.getCurrentUserId();
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        Specification<Task> spec = filters(userId, q, status, priority, dueBefore, dueAfter);
+        TaskCursor cursor = TaskCursor.decode(after);
+        if (cursor != null) {
+            spec = spec.and(TaskSpecifications.after(cursor.createdAt(), cursor.id()));
         }
+
+        List<TaskResponse> rows = taskRepository.findResponses(spec, CURSOR_SORT, limit + 1);
+
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) rows = rows.subList(0, limit);
+        String nextCursor = hasNext ? TaskCursor.of(rows.get(rows.size() - 1)).encode() : null;
+
+        return new CursorPage<>(rows, nextCursor, hasNext);
+    }
+
+    private Specification<Task> filters(Long userId, String q, Task.Status status, Task.Priority priority,
+                                        LocalDate dueBefore, LocalDate dueAfter) {
+        Specification<Task> spec = TaskSpecifications.forUser(userId, status, priority, dueBefore, dueAfter);
         if (q != null && !q.isBlank()) {
-            return taskRepository.searchByText(userId, q, pageable).map(TaskMapper::toResponse);
+            spec = spec.and(textSearch.matching(q));
         }
-        return taskRepository.findByUserId(userId, pageable).map(TaskMapper::toResponse);
+        return spec;
     }
 
+    // All single-task operations below are owner-scoped in SQL (WHERE id = ? AND user_id = ?),
+    // so a task that belongs to someone else looks exactly like a missing one.
     @Transactional(readOnly = true)
     public TaskResponse getTask(Long id) {
         Long userId = userService.getCurrentUserId();
-        Task t = taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Task", id));
-        if (!t.getUser().getId().equals(userId)) throw new ResourceNotFoundException("Task", id);
-        return TaskMapper.toResponse(t);
+        return taskRepository.findResponse(id, userId).orElseThrow(() -> new ResourceNotFoundException("Task", id));
     }
 
     @Transactional
     public TaskResponse updateTask(Long id, TaskRequest req) {
         Long userId = userService.getCurrentUserId();
-        Task t = taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Task", id));
-        if (!t.getUser().getId().equals(userId)) throw new ResourceNotFoundException("Task", id);
-        TaskMapper.updateEntity(t, req);
-        Task saved = taskRepository.save(t);
-        return TaskMapper.toResponse(saved);
+        TaskRepositoryCustom.Updated updated = taskRepository.updateOwned(id, userId, req, Instant.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        moved(userId, updated);
+        changed(userId, TaskChangedEvent.Kind.UPDATED, id);
+        return updated.after();
     }
 
     @Transactional
     public void deleteTask(Long id) {
         Long userId = userService.getCurrentUserId();
-        Task t = taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Task", id));
-        if (!t.getUser().getId().equals(userId)) throw new ResourceNotFoundException("Task", id);
-        taskRepository.delete(t);
+        TaskState deleted = taskRepository.deleteOwned(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        counters.apply(userId, new TaskCounts.Delta().remove(deleted.status(), deleted.priority()));
+        changed(userId, TaskChangedEvent.Kind.DELETED, id);
     }
 
     @Transactional
     public TaskResponse markCompleted(Long id) {
         Long userId = userService.getCurrentUserId();
-        Task t = taskRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Task", id));
-        if (!t.getUser().getId().equals(userId)) throw new ResourceNotFoundException("Task", id);
-        t.setStatus(Task.Status.DONE);
-        Task saved = taskRepository.save(t);
-        return TaskMapper.toResponse(saved);
+        TaskRepositoryCustom.Updated updated = taskRepository.completeOwned(id, userId, Instant.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        moved(userId, updated);
+        changed(userId, TaskChangedEvent.Kind.COMPLETED, id);
+        return updated.after();
+    }
+
+    // Applied even when nothing moved (no status or priority sent): it also bumps the change version.
+    private void moved(Long userId, TaskRepositoryCustom.Updated updated) {
+        TaskState before = updated.before();
+        TaskCounts.Delta delta = new TaskCounts.Delta();
+        if (before != null) {
+            delta.move(before.status(), before.priority(), updated.after().getStatus(), updated.after().getPriority());
+        }
+        counters.apply(userId, delta);
+    }
+
+    private void changed(Long userId, TaskChangedEvent.Kind kind, Long taskId) {
+        events.publishEvent(new TaskChangedEvent(userId, kind, List.of(taskId)));
     }
 }
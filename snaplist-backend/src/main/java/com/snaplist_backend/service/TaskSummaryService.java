@@ -0,0 +1,72 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.TaskSummary;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.util.ExpiringLruCache;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Dashboard counts for the current user. The aggregate is cached per user together with the
+// change version it was computed under (TaskVersionService): any committed write moves the
+// version on and the next call recomputes, while repeat views cost one version lookup.
+// Not @Transactional on purpose: a cache hit should hold a connection only for that lookup.
+@Service
+@Timed(value = "snaplist.task.service", description = "Task service calls by method")
+public class TaskSummaryService {
+
+    private record Cached(long version, LocalDate day, TaskSummary summary) {}
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final TaskVersionService versions;
+    private final ExpiringLruCache<Long, Cached> cache;
+
+    public TaskSummaryService(TaskRepository taskRepository, UserService userService, TaskVersionService versions,
+                              @Value("${snaplist.summary-cache.max-size:10000}") int maxSize,
+                              @Value("${snaplist.summary-cache.ttl-ms:600000}") long ttlMs) {
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+        this.versions = versions;
+        this.cache = new ExpiringLruCache<>(maxSize, Duration.ofMillis(ttlMs));
+    }
+
+    public TaskSummary summary() {
+        Long userId = userService.getCurrentUserId();
+        // version before the load (protocol: TaskVersionService)
+        long version = versions.current(userId);
+        LocalDate today = LocalDate.now();
+
+        Cached cached = cache.get(userId);
+        if (cached != null && cached.version() == version && cached.day().equals(today)) {
+            return cached.summary();
+        }
+        TaskSummary summary = load(userId, today);
+        if (versions.taggable()) cache.put(userId, new Cached(version, today, summary));
+        return summary;
+    }
+
+    private TaskSummary load(Long userId, LocalDate today) {
+        Map<Task.Status, Long> byStatus = new EnumMap<>(Task.Status.class);
+        Map<Task.Priority, Long> byPriority = new EnumMap<>(Task.Priority.class);
+        for (Task.Status s : Task.Status.values()) byStatus.put(s, 0L);
+        for (Task.Priority p : Task.Priority.values()) byPriority.put(p, 0L);
+        long total = 0, dueToday = 0, overdue = 0;
+
+        for (Object[] row : taskRepository.summarize(userId, today)) {
+            long count = ((Number) row[2]).longValue();
+            if (row[0] != null) byStatus.merge((Task.Status) row[0], count, Long::sum);
+            if (row[1] != null) byPriority.merge((Task.Priority) row[1], count, Long::sum);
+            total += count;
+            dueToday += row[3] == null ? 0 : ((Number) row[3]).longValue();
+            overdue += row[4] == null ? 0 : ((Number) row[4]).longValue();
+        }
+        return new TaskSummary(total, byStatus, byPriority, dueToday, overdue);
+    }
+}
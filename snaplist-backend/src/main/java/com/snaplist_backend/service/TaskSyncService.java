@@ -0,0 +1,140 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.domain.TaskTombstone;
+import com.snaplist_backend.dto.TaskChanges;
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.exception.GoneException;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.TaskTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Delta sync for clients that keep a local copy of their tasks. A change is only handed out
+// once it is behind the "horizon", so a write that got its updated_at before it committed can't
+// slip in behind a cursor that has already moved past it. The horizon stops just before the
+// oldest write transaction still open here, however long that one takes to commit; the commit
+// lag on top covers writes served by other instances, which this one can't see.
+// Clients apply changes as upserts, so seeing a row twice is harmless; missing one is not.
+@Service
+@Timed(value = "snaplist.task.service", description = "Task service calls by method")
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+    private static final int MAX_CHANGES = 500;
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final UserService userService;
+    private final InFlightWrites inFlightWrites;
+    private final Duration commitLag;
+    private final Duration retention;
+
+    public TaskSyncService(TaskRepository taskRepository,
+                           TaskTombstoneRepository tombstoneRepository,
+                           UserService userService,
+                           InFlightWrites inFlightWrites,
+                           @Value("${snaplist.sync.commit-lag-ms:1000}") long commitLagMs,
+                           @Value("${snaplist.sync.tombstone-retention-days:30}") long retentionDays) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.userService = userService;
+        this.inFlightWrites = inFlightWrites;
+        this.commitLag = Duration.ofMillis(commitLagMs);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    // Not read-only on purpose: ReplicaRoutingDataSource keeps it on the primary. The horizon only
+    // allows for commits still in flight, not for a replica that hasn't replayed them yet, and a
+    // cursor moved past a row the replica was missing would never hand that row out.
+    @Transactional
+    public TaskChanges changesSince(String since, int size) {
+        Long userId = userService.getCurrentUserId();
+        int limit = Math.clamp(size, 1, MAX_CHANGES);
+        Instant now = Instant.now();
+        Instant horizon = horizon(now);
+
+        SyncCursor from = SyncCursor.decode(since);
+        if (from != SyncCursor.START && from.deletedAt().isBefore(now.minus(retention))) {
+            throw new GoneException("Cursor is older than the delete history; fetch the full list again");
+        }
+
+        List<TaskResponse> changed = taskRepository.findChangedSince(
+                userId, from.updatedAt(), from.taskId(), horizon, Limit.of(limit + 1));
+        List<TaskTombstone> deleted = tombstoneRepository.findDeletedSince(
+                userId, from.deletedAt(), from.tombstoneId(), horizon, Limit.of(limit + 1));
+
+        boolean moreChanged = changed.size() > limit;
+        boolean moreDeleted = deleted.size() > limit;
+        if (moreChanged) changed = changed.subList(0, limit);
+        if (moreDeleted) deleted = deleted.subList(0, limit);
+
+        // A side that was read to the end jumps to the horizon; a truncated one resumes after its last row.
+        Instant updatedAt = from.updatedAt();
+        long taskId = from.taskId();
+        if (moreChanged) {
+            TaskResponse last = changed.get(changed.size() - 1);
+            updatedAt = last.getUpdatedAt();
+            taskId = last.getId();
+        } else if (horizon.isAfter(updatedAt)) {
+            updatedAt = horizon;
+            taskId = Long.MAX_VALUE;
+        }
+        Instant deletedAt = from.deletedAt();
+        long tombstoneId = from.tombstoneId();
+        if (moreDeleted) {
+            TaskTombstone last = deleted.get(deleted.size() - 1);
+            deletedAt = last.getDeletedAt();
+            tombstoneId = last.getId();
+        } else if (horizon.isAfter(deletedAt)) {
+            deletedAt = horizon;
+            tombstoneId = Long.MAX_VALUE;
+        }
+
+        String cursor = new SyncCursor(updatedAt, taskId, deletedAt, tombstoneId).encode();
+        List<Long> deletedIds = deleted.stream().map(TaskTombstone::getTaskId).toList();
+        return new TaskChanges(changed, deletedIds, cursor, moreChanged || moreDeleted);
+    }
+
+    // `now` is read before the open transactions are: one that isn't registered yet stamps its
+    // rows after `now`. Strictly before the oldest start, as timestamps are stored to the microsecond.
+    private Instant horizon(Instant now) {
+        Instant horizon = now.minus(commitLag);
+        Instant oldestWrite = inFlightWrites.oldestStart();
+        if (oldestWrite != null && !oldestWrite.isAfter(horizon)) {
+            horizon = oldestWrite.minus(1, ChronoUnit.MICROS);
+        }
+        return horizon;
+    }
+
+    // Runs inside the deleting transaction (plain @EventListener), so a delete and its
+    // tombstones commit or roll back together. One tombstone per row the DELETE removed
+    // (TaskChangedEvent), so overlapping deletes of the same task leave exactly one.
+    @EventListener
+    public void recordDeletes(TaskChangedEvent event) {
+        if (event.kind() != TaskChangedEvent.Kind.DELETED) return;
+        Instant now = Instant.now();
+        tombstoneRepository.saveAll(event.taskIds().stream()
+                .map(id -> new TaskTombstone(null, id, event.userId(), now))
+                .toList());
+    }
+
+    @Scheduled(initialDelayString = "${snaplist.sync.purge-interval-ms:3600000}",
+            fixedDelayString = "${snaplist.sync.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(Instant.now().minus(retention));
+        if (purged > 0) log.info("Purged {} task tombstones older than {}", purged, retention);
+    }
+}
@@ -0,0 +1,65 @@
+package com.snaplist_backend.service;
+
+import com.snaplist_backend.repository.TaskCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user change version behind the task ETags and the per-user caches (TaskReadCache,
+// TaskSummaryService, TaskCounterService). It lives in the user's task_counters row and every
+// task mutation moves it on in the same UPDATE that applies its counter delta
+// (TaskCounterService.apply), so it commits with the write and every instance sees the same
+// value: an unchanged version means nothing the user can read has changed, whichever instance wrote.
+//
+// Protocol for anything tagged with a version: call current() first, then load, and file the
+// result under that version. A write committing in between moves the version on, so a tag can
+// only be older than its data, never newer; a later read under the same version may reuse it.
+// That holds for primary reads only. Rows from the read replica (ReplicaRoutingDataSource) can
+// trail the version by the replication lag, so a request that read any is served but its result
+// is neither cached nor tagged (taggable()). The version itself is always read from the primary.
+@Service
+@RequiredArgsConstructor
+public class TaskVersionService {
+
+    // Request attribute ReplicaRoutingDataSource sets when it hands the request a replica connection.
+    public static final String REPLICA_READ_ATTRIBUTE = TaskVersionService.class.getName() + ".replicaRead";
+
+    // Set when the user has no counter row yet (reconciliation creates it): nothing gets tagged,
+    // since a stand-in version means nothing to another instance.
+    private static final String UNVERSIONED_ATTRIBUTE = TaskVersionService.class.getName() + ".unversioned";
+    private static final String VERSION_ATTRIBUTE = TaskVersionService.class.getName() + ".version.";
+
+    private final TaskCounterRepository counterRepository;
+
+    // Stand-ins for users without a counter row: negative and never repeated, so nothing filed
+    // under one is ever hit again.
+    private final AtomicLong unversioned = new AtomicLong();
+
+    // Read this before running the query it tags (see above). Read once per request: the ETag,
+    // the read cache and the totals of one response share the lookup.
+    public long current(Long userId) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(VERSION_ATTRIBUTE + userId, RequestAttributes.SCOPE_REQUEST) instanceof Long v) {
+            return v;
+        }
+        Optional<Long> stored = counterRepository.findChangeVersion(userId);
+        long version = stored.orElseGet(() -> -unversioned.incrementAndGet());
+        if (request != null) {
+            request.setAttribute(VERSION_ATTRIBUTE + userId, version, RequestAttributes.SCOPE_REQUEST);
+            if (stored.isEmpty()) request.setAttribute(UNVERSIONED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        return version;
+    }
+
+    // Whether what the current request has loaded may be filed under the version read before it.
+    public boolean taggable() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request == null
+                || (request.getAttribute(REPLICA_READ_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null
+                    && request.getAttribute(UNVERSIONED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null);
+    }
+}
@@ -2,6 +2,7 @@ package com.snaplist_backend.service;
 
 import com.snaplist_backend.domain.User;
 import com.snaplist_backend.repository.UserRepository;
+import com.snaplist_backend.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import com.snaplist_backend.exception.ResourceNotFoundException;
 import org.springframework.security.core.Authentication;
@@ -14,16 +15,34 @@ public class UserService {
     private final UserRepository userRepository;
 
     public User getCurrentUser() {
-        Authentication auth= SecurityContextHolder.getContext().getAuthentication();
-        if(auth == null || auth.getName()==null) {
-            throw new ResourceNotFoundException("User", "anonymous");
+        Authentication auth = currentAuthentication();
+        if (auth.getPrincipal() instanceof UserPrincipal principal) {
+            return userRepository.findById(principal.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", principal.getId()));
         }
         String username = auth.getName();
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username"));
     }
 
+    // Read straight from the principal JwtAuthFilter put in the security context: no query.
     public Long getCurrentUserId() {
+        if (currentAuthentication().getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
         return getCurrentUser().getId();
     }
+
+    // Uninitialized proxy: enough to set a foreign key without loading the users row.
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
+    }
+
+    private Authentication currentAuthentication() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            throw new ResourceNotFoundException("User", "anonymous");
+        }
+        return auth;
+    }
 }
@@ -0,0 +1,83 @@
+package com.snaplist_backend.util;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Minimal RFC 4180 reader: one record at a time, quoted fields may contain commas, doubled
+// quotes and line breaks. Records longer than maxRecordChars are refused, so a malformed
+// file (say, an unterminated quote) can't make us buffer the rest of the stream.
+public class CsvReader {
+
+    public static class RecordTooLongException extends IOException {
+        public RecordTooLongException(long line, int max) {
+            super("Record at line " + line + " exceeds " + max + " characters");
+        }
+    }
+
+    private final PushbackReader in;
+    private final int maxRecordChars;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader in, int maxRecordChars) {
+        this.in = new PushbackReader(in, 1);
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // Line number (1-based) where the record last returned by next() started.
+    public long recordLine() {
+        return recordLine;
+    }
+
+    // Fields of the next record, or null at end of input.
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int chars = 0;
+        recordLine = line;
+
+        while (true) {
+            int c = in.read();
+            if (c == -1) {
+                if (chars == 0) return null;
+                fields.add(field.toString());
+                return fields;
+            }
+            if (++chars > maxRecordChars) throw new RecordTooLongException(recordLine, maxRecordChars);
+
+            if (quoted) {
+                if (c == '"') {
+                    int n = in.read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (n != -1) in.unread(n);
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int n = in.read();
+                    if (n != '\n' && n != -1) in.unread(n);
+                }
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+}
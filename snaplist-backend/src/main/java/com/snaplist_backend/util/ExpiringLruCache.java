@@ -0,0 +1,132 @@
+package com.snaplist_backend.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Small bounded cache: least-recently-used entries are dropped once maxSize is reached,
+// and every entry carries its own expiry. A ReentrantLock is used instead of synchronized
+// so callers running on virtual threads never pin their carrier thread.
+public class ExpiringLruCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    private final int maxSize;
+    private final long defaultTtlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringLruCache(int maxSize, Duration defaultTtl) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be positive");
+        this.maxSize = maxSize;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                boolean full = size() > ExpiringLruCache.this.maxSize;
+                if (full) evictions.increment();
+                return full;
+            }
+        };
+    }
+
+    public V get(K key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry<V> e = entries.get(key);
+            if (e == null) return null;
+            if (e.isExpired(now)) {
+                entries.remove(key);
+                evictions.increment();
+                return null;
+            }
+            return e.value();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The loader runs outside the lock; two threads missing at once may both load, last one wins.
+    // A null result is not cached.
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) return cached;
+        V loaded = loader.apply(key);
+        if (loaded != null) put(key, loaded);
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlNanos);
+    }
+
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), defaultTtlNanos));
+    }
+
+    private void put(K key, V value, long ttlNanos) {
+        if (ttlNanos <= 0) return;
+        Entry<V> e = new Entry<>(value, System.nanoTime() + ttlNanos);
+        lock.lock();
+        try {
+            entries.put(key, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Atomic against put(): returns the live value for key, or stores and returns the given one.
+    public V putIfAbsent(K key, V value) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            Entry<V> e = entries.get(key);
+            if (e != null && !e.isExpired(now)) return e.value();
+            entries.put(key, new Entry<>(value, now + defaultTtlNanos));
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Entries dropped for size or found expired (explicit invalidations don't count).
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
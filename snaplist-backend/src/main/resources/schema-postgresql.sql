@@ -0,0 +1,12 @@
+-- Runs after Hibernate has created/updated the tables (spring.jpa.defer-datasource-initialization).
+-- Every statement has to be idempotent: this file is applied on each startup.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Serves LOWER(text) LIKE '%term%' for task search (TrigramTaskSearch).
+CREATE INDEX IF NOT EXISTS idx_task_text_trgm ON tasks USING gin (lower(text) gin_trgm_ops);
+
+-- tasks.id moved from IDENTITY to the pooled tasks_seq (allocationSize 50). On databases that
+-- already hold tasks, move the sequence past the highest existing id before Hibernate uses it.
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks))
+WHERE (SELECT last_value FROM tasks_seq) < (SELECT COALESCE(MAX(id), 0) FROM tasks);
@@ -0,0 +1,59 @@
+package com.snaplist_backend.benchmark;
+
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.repository.UserRepository;
+import com.snaplist_backend.security.JwtAuthFilter;
+import com.snaplist_backend.security.JwtUtils;
+import com.snaplist_backend.security.UserPrincipalService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// One full JwtAuthFilter pass for an authenticated GET /api/tasks, with the user store mocked.
+// verifyUser=false is the default trust-the-uid-claim path; true adds the cached account check.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean verifyUser;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        UserRepository users = Mockito.mock(UserRepository.class);
+        Mockito.when(users.findByUsername("bench-user"))
+                .thenReturn(Optional.of(new User(42L, "bench-user", "hash", "bench@example.com")));
+
+        JwtUtils jwtUtils = new JwtUtils(JwtBenchmark.SECRET, 3_600_000, 10_000);
+        UserPrincipalService principals = new UserPrincipalService(users, verifyUser, 10_000, 300_000);
+        filter = new JwtAuthFilter(jwtUtils, principals, new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtils.generateToken("bench-user", 42L);
+    }
+
+    @Benchmark
+    public Object filterPass() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/tasks");
+        req.addHeader("Authorization", authorization);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        try {
+            filter.doFilter(req, res, new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
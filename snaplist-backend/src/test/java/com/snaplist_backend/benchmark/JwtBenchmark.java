@@ -0,0 +1,58 @@
+package com.snaplist_backend.benchmark;
+
+import com.snaplist_backend.security.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmark_secret_benchmark_secret_benchmark_secret";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    // Cache of one entry fed two alternating tokens: every verify is a miss (full parse + HMAC).
+    private JwtUtils uncachedJwtUtils;
+    private String[] alternating;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 3_600_000, 10_000);
+        token = jwtUtils.generateToken("bench-user", 42L);
+
+        uncachedJwtUtils = new JwtUtils(SECRET, 3_600_000, 1);
+        alternating = new String[]{
+                uncachedJwtUtils.generateToken("bench-a", 1L),
+                uncachedJwtUtils.generateToken("bench-b", 2L)
+        };
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("bench-user", 42L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtUtils.VerifiedToken verify() {
+        return jwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public JwtUtils.VerifiedToken verifyUncached() {
+        next ^= 1;
+        return uncachedJwtUtils.verify(alternating[next]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.snaplist_backend.benchmark;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.dto.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of writing the GET /api/tasks response body at different page sizes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "20", "100", "500"})
+    public int pageSize;
+
+    private JsonMapper mapper;
+    private Page<TaskResponse> page;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+
+        Instant now = Instant.now();
+        List<TaskResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new TaskResponse((long) i, "Task number " + i + " with a realistic amount of text",
+                    i % 3 == 0 ? Task.Status.DONE : Task.Status.PENDING,
+                    Task.Priority.values()[i % 3],
+                    LocalDate.now().plusDays(i % 30), now, now));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return mapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,51 @@
+package com.snaplist_backend.benchmark;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.dto.TaskRequest;
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.mapper.TaskMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private TaskRequest request;
+    private User user;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        user = new User(7L, "bench-user", "hash", "bench@example.com");
+
+        request = new TaskRequest();
+        request.setText("Write the quarterly report");
+        request.setStatus(Task.Status.PENDING);
+        request.setPriority(Task.Priority.HIGH);
+        request.setDueDate(LocalDate.now().plusDays(3));
+
+        task = TaskMapper.toEntity(request, user);
+        task.setId(1234L);
+        task.setCreatedAt(Instant.now());
+        task.setUpdatedAt(Instant.now());
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return TaskMapper.toEntity(request, user);
+    }
+
+    @Benchmark
+    public TaskResponse toResponse() {
+        return TaskMapper.toResponse(task);
+    }
+}
@@ -0,0 +1,131 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.monitoring.SqlBudgetInterceptor;
+import com.snaplist_backend.monitoring.SqlCountingFilter;
+import com.snaplist_backend.monitoring.SqlMonitor;
+import com.snaplist_backend.repository.TaskCounterRepository;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.TaskTombstoneRepository;
+import com.snaplist_backend.repository.UserRepository;
+import com.snaplist_backend.security.JwtUtils;
+import com.snaplist_backend.service.TaskCounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+// Fixture shared by the API tests: MockMvc behind the real security chain, users with bearer
+// tokens, and the SQL statements recorded per request (authentication included). Subclasses carry
+// their own @SpringBootTest/@ActiveProfiles. Everything the tests write is deleted after each test.
+abstract class ApiTestSupport {
+
+    @Autowired
+    protected WebApplicationContext context;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected TaskRepository taskRepository;
+
+    @Autowired
+    protected TaskCounterRepository taskCounterRepository;
+
+    @Autowired
+    protected TaskCounterService taskCounterService;
+
+    @Autowired
+    protected TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    protected JwtUtils jwtUtils;
+
+    @Autowired
+    protected JsonMapper jsonMapper;
+
+    protected MockMvc mvc;
+
+    @BeforeEach
+    void setUpMockMvc() {
+        // MockMvc only runs the filters it is given: the SQL window opens ahead of the security chain, as deployed
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean(SqlCountingFilter.class))
+                .apply(springSecurity())
+                .build();
+    }
+
+    @AfterEach
+    void deleteTestData() {
+        tombstoneRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        taskCounterRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    // A saved user who never logs in through the API. Like a registration, it comes with an
+    // empty counter row, which is also where the user's change version lives.
+    protected User user(String username) {
+        return user(username, "{noop}unused");
+    }
+
+    protected User user(String username, String passwordHash) {
+        User user = userRepository.save(new User(null, username, passwordHash, username + "@example.com"));
+        taskCounterService.initialize(user.getId());
+        return user;
+    }
+
+    protected String bearer(User user) {
+        return "Bearer " + jwtUtils.generateToken(user.getUsername(), user.getId());
+    }
+
+    // Unsaved, with the entity defaults (PENDING, MEDIUM, no due date).
+    protected static Task task(User owner, String text) {
+        Task t = new Task();
+        t.setUser(owner);
+        t.setText(text);
+        return t;
+    }
+
+    protected MvcResult perform(MockHttpServletRequestBuilder request, User as) throws Exception {
+        return mvc.perform(request.header(HttpHeaders.AUTHORIZATION, bearer(as))).andReturn();
+    }
+
+    // Like perform, failing the test on any 4xx/5xx (with the body as the message).
+    protected MvcResult performOk(MockHttpServletRequestBuilder request, User as) throws Exception {
+        MvcResult result = perform(request, as);
+        assertThat(result.getResponse().getStatus()).as(result.getResponse().getContentAsString()).isLessThan(400);
+        return result;
+    }
+
+    protected JsonNode json(MvcResult result) throws Exception {
+        return jsonMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    // totalElements of a GET /api/tasks page
+    protected long total(MvcResult result) throws Exception {
+        return json(result).findValue("totalElements").asLong();
+    }
+
+    protected static SqlMonitor.RequestStats sqlStats(MvcResult result) {
+        SqlMonitor.RequestStats stats = (SqlMonitor.RequestStats) result.getRequest()
+                .getAttribute(SqlBudgetInterceptor.STATS_ATTRIBUTE);
+        assertThat(stats).as("SQL stats of " + result.getRequest().getRequestURI()).isNotNull();
+        return stats;
+    }
+
+    protected static int statements(MvcResult result) {
+        return sqlStats(result).statements();
+    }
+}
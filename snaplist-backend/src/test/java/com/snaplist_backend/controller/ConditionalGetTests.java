@@ -0,0 +1,114 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConditionalGetTests extends ApiTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        user = user("etag");
+        taskId = taskRepository.save(task(user, "cached")).getId();
+    }
+
+    @Test
+    void unchangedListIsNotModifiedAfterOnlyTheVersionLookup() throws Exception {
+        String etag = perform(get("/api/tasks").param("size", "5")).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        MvcResult again = perform(get("/api/tasks").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(again.getResponse().getStatus()).isEqualTo(304);
+        assertThat(again.getResponse().getContentLength()).isZero();
+        assertThat(statements(again)).isEqualTo(1);
+    }
+
+    @Test
+    void differentQueryGetsDifferentTag() throws Exception {
+        String first = perform(get("/api/tasks").param("size", "5")).getResponse().getHeader(HttpHeaders.ETAG);
+        String second = perform(get("/api/tasks").param("size", "6")).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    void singleTaskIsNotModifiedUntilAWriteCommits() throws Exception {
+        String etag = perform(get("/api/tasks/{id}", taskId)).getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult cached = perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(cached.getResponse().getStatus()).isEqualTo(304);
+        assertThat(statements(cached)).isEqualTo(1);
+
+        perform(put("/api/tasks/{id}", taskId).contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"edited\"}"));
+
+        MvcResult fresh = perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(fresh.getResponse().getStatus()).isEqualTo(200);
+        assertThat(fresh.getResponse().getContentAsString()).contains("edited");
+        assertThat(fresh.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void anyWriteInvalidatesListTags() throws Exception {
+        String etag = perform(get("/api/tasks")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"another\"}"));
+
+        MvcResult fresh = perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(fresh.getResponse().getStatus()).isEqualTo(200);
+        assertThat(fresh.getResponse().getContentAsString()).contains("another");
+    }
+
+    @Test
+    void aWriteCommittedByAnotherInstanceInvalidatesTheTag() throws Exception {
+        String etag = perform(get("/api/tasks/{id}", taskId)).getResponse().getHeader(HttpHeaders.ETAG);
+
+        // what another instance's write leaves behind: the rows and the stored version, nothing in this JVM
+        jdbc.update("UPDATE tasks SET text = 'edited elsewhere' WHERE id = ?", taskId);
+        jdbc.update("UPDATE task_counters SET change_version = change_version + 1 WHERE user_id = ?", user.getId());
+
+        MvcResult fresh = perform(get("/api/tasks/{id}", taskId).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertThat(fresh.getResponse().getStatus()).isEqualTo(200);
+        assertThat(fresh.getResponse().getContentAsString()).contains("edited elsewhere");
+    }
+
+    @Test
+    void usersWithoutAStoredVersionGetNoTag() throws Exception {
+        taskCounterRepository.deleteAllInBatch();
+
+        MvcResult first = perform(get("/api/tasks/{id}", taskId));
+        assertThat(first.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(perform(get("/api/tasks/{id}", taskId)).getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    void failedWriteKeepsTheTag() throws Exception {
+        String etag = perform(get("/api/tasks")).getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(delete("/api/tasks/{id}", 999_999L));
+
+        assertThat(perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag)).getResponse().getStatus())
+                .isEqualTo(304);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, user);
+    }
+}
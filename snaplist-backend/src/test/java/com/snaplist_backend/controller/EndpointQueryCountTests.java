@@ -0,0 +1,216 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.security.UserPrincipalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Hot-path SQL contract: every endpoint's statements are counted by type on the embedded
+// database. A change that adds a query (an extra user lookup, a lazy load, a stray COUNT)
+// fails here. Sequence fetches are ignored: the pooled optimizer makes them depend on
+// what ran before. The H2 profile has no UPDATE ... RETURNING, so single-task updates
+// show up as UPDATE + SELECT here and as one statement on PostgreSQL; writes that move a task
+// between counter cells also read its old status/priority first (joined into the statement there).
+// Every task write adds one UPDATE of the user's task_counters row (counter delta and change
+// version), and every tagged read starts with one SELECT of that row's change version.
+@SpringBootTest
+@ActiveProfiles("test")
+class EndpointQueryCountTests extends ApiTestSupport {
+
+    @Autowired
+    private PasswordEncoder encoder;
+
+    @Autowired
+    private UserPrincipalService principals;
+
+    private User user;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = user("counter", encoder.encode("password123"));
+        for (int i = 0; i < 3; i++) {
+            taskIds.add(taskRepository.save(task(user, "task " + i)).getId());
+        }
+        taskCounterService.reconcileAll();
+    }
+
+    @Test
+    void listShortFirstPageSkipsTheCount() throws Exception {
+        assertThat(statements(get("/api/tasks"))).isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void listFullPageTakesTheTotalFromTheCounters() throws Exception {
+        assertThat(statements(get("/api/tasks").param("size", "2"))).isEqualTo(Map.of("SELECT", 3));
+        // counter row cached until the user's next write
+        assertThat(statements(get("/api/tasks").param("size", "2").param("status", "PENDING")))
+                .isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void listWithAllFiltersIsStillOneTaskQuery() throws Exception {
+        assertThat(statements(get("/api/tasks")
+                .param("q", "task").param("status", "PENDING").param("priority", "MEDIUM")
+                .param("dueAfter", "2020-01-01").param("dueBefore", "2999-01-01")))
+                .isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void cursorListNeverCounts() throws Exception {
+        assertThat(statements(get("/api/tasks").param("after", "").param("size", "2")))
+                .isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void exportIsOneCursorQueryInEitherFormat() throws Exception {
+        assertThat(statements(get("/api/tasks/export"))).isEqualTo(Map.of("SELECT", 1));
+        assertThat(statements(get("/api/tasks/export").param("format", "csv"))).isEqualTo(Map.of("SELECT", 1));
+    }
+
+    @Test
+    void importOfOneChunkIsOneInsertBatch() throws Exception {
+        assertThat(statements(post("/api/tasks/import").contentType("application/x-ndjson")
+                .content("{\"text\":\"a\"}\n{\"text\":\"b\"}\n{\"text\":\"c\"}\n")))
+                .isEqualTo(Map.of("INSERT", 1, "UPDATE", 1));
+    }
+
+    @Test
+    void summaryIsOneAggregateThenCached() throws Exception {
+        assertThat(statements(get("/api/tasks/summary"))).isEqualTo(Map.of("SELECT", 2));
+        assertThat(statements(get("/api/tasks/summary"))).isEqualTo(Map.of("SELECT", 1));
+    }
+
+    @Test
+    void changesIsOneQueryPerSide() throws Exception {
+        assertThat(statements(get("/api/tasks/changes").param("since", ""))).isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void getTask() throws Exception {
+        assertThat(statements(get("/api/tasks/{id}", taskIds.get(0)))).isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void aTokenWithoutUidCostsOneCachedUserLookup() throws Exception {
+        principals.evict(user.getUsername());
+        String token = jwtUtils.generateToken(user.getUsername(), null);
+
+        // counted from ahead of the security chain, where the lookup runs
+        assertThat(statements(get("/api/tasks/{id}", taskIds.get(0)), token)).isEqualTo(Map.of("SELECT", 3));
+        assertThat(statements(get("/api/tasks/{id}", taskIds.get(0)), token)).isEqualTo(Map.of("SELECT", 2));
+    }
+
+    @Test
+    void createTaskDoesNotLoadTheUser() throws Exception {
+        assertThat(statements(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"new task\"}")))
+                .isEqualTo(Map.of("INSERT", 1, "UPDATE", 1));
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        assertThat(statements(put("/api/tasks/{id}", taskIds.get(0)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"changed\"}")))
+                .isEqualTo(Map.of("UPDATE", 2, "SELECT", 1));
+    }
+
+    @Test
+    void completeTask() throws Exception {
+        assertThat(statements(post("/api/tasks/{id}/complete", taskIds.get(0))))
+                .isEqualTo(Map.of("UPDATE", 2, "SELECT", 2));
+    }
+
+    @Test
+    void deleteTaskLeavesATombstone() throws Exception {
+        assertThat(statements(delete("/api/tasks/{id}", taskIds.get(0))))
+                .isEqualTo(Map.of("SELECT", 1, "DELETE", 1, "INSERT", 1, "UPDATE", 1));
+    }
+
+    @Test
+    void batchCreateIsOneJdbcBatch() throws Exception {
+        assertThat(statements(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"text\":\"a\"},{\"text\":\"b\"},{\"text\":\"c\"},{\"text\":\"\"}]")))
+                .isEqualTo(Map.of("INSERT", 1, "UPDATE", 1));
+    }
+
+    @Test
+    void batchUpdate() throws Exception {
+        assertThat(statements(put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":" + taskIds.get(0) + ",\"text\":\"x\"},{\"id\":" + taskIds.get(1) + ",\"text\":\"y\"}]")))
+                .isEqualTo(Map.of("SELECT", 1, "UPDATE", 2));
+    }
+
+    @Test
+    void batchComplete() throws Exception {
+        assertThat(statements(post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + taskIds.get(0) + "," + taskIds.get(1) + ",999999]}")))
+                .isEqualTo(Map.of("SELECT", 1, "UPDATE", 2));
+    }
+
+    @Test
+    void batchDelete() throws Exception {
+        assertThat(statements(post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + taskIds.get(0) + "," + taskIds.get(1) + "]}")))
+                .isEqualTo(Map.of("SELECT", 1, "DELETE", 1, "INSERT", 1, "UPDATE", 1));
+    }
+
+    @Test
+    void register() throws Exception {
+        assertThat(statements(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"newbie\",\"email\":\"newbie@example.com\",\"password\":\"password123\"}")))
+                .isEqualTo(Map.of("SELECT", 1, "INSERT", 2));
+    }
+
+    @Test
+    void login() throws Exception {
+        assertThat(statements(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"counter\",\"password\":\"password123\"}")))
+                .isEqualTo(Map.of("SELECT", 2));
+    }
+
+    // Runs the request (authenticated as the fixture user) and returns statement counts by type.
+    private Map<String, Integer> statements(MockHttpServletRequestBuilder request) throws Exception {
+        return byType(performOk(request, user));
+    }
+
+    private Map<String, Integer> statements(MockHttpServletRequestBuilder request, String token) throws Exception {
+        MvcResult result = mvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return byType(result);
+    }
+
+    // Statement counts by type, sequence fetches left out.
+    static Map<String, Integer> byType(MvcResult result) {
+        Map<String, Integer> byType = new TreeMap<>();
+        sqlStats(result).bySql().forEach((sql, n) -> {
+            String type = type(sql);
+            if (!type.equals("SEQUENCE")) byType.merge(type, n, Integer::sum);
+        });
+        return byType;
+    }
+
+    private static String type(String sql) {
+        String s = sql.trim().toLowerCase(Locale.ROOT);
+        if (s.contains("next value for") || s.contains("nextval(")) return "SEQUENCE";
+        int space = s.indexOf(' ');
+        return (space < 0 ? s : s.substring(0, space)).toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.snaplist_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Configured cost (5) above the stored one (4): the first good login rewrites the hash.
+@SpringBootTest(properties = "snaplist.password.bcrypt-strength=5")
+@ActiveProfiles("test")
+class PasswordRehashTests extends ApiTestSupport {
+
+    @BeforeEach
+    void setUp() {
+        user("legacy", new BCryptPasswordEncoder(4).encode("password123"));
+    }
+
+    @Test
+    void successfulLoginRehashesAWeakerHashOnce() throws Exception {
+        MvcResult first = login("password123");
+        assertThat(first.getResponse().getStatus()).isEqualTo(200);
+        assertThat(updates(first)).isEqualTo(1);
+        assertThat(userRepository.findByUsername("legacy").orElseThrow().getPassword()).startsWith("$2a$05$");
+
+        MvcResult second = login("password123");
+        assertThat(second.getResponse().getStatus()).isEqualTo(200);
+        assertThat(updates(second)).isZero();
+    }
+
+    @Test
+    void failedLoginLeavesTheHashAlone() throws Exception {
+        assertThat(login("wrong-password").getResponse().getStatus()).isEqualTo(401);
+        assertThat(userRepository.findByUsername("legacy").orElseThrow().getPassword()).startsWith("$2a$04$");
+    }
+
+    private MvcResult login(String password) throws Exception {
+        return mvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"legacy\",\"password\":\"" + password + "\"}")).andReturn();
+    }
+
+    private static long updates(MvcResult result) {
+        return sqlStats(result).bySql().entrySet().stream()
+                .filter(e -> e.getKey().trim().toLowerCase().startsWith("update"))
+                .mapToLong(e -> e.getValue())
+                .sum();
+    }
+}
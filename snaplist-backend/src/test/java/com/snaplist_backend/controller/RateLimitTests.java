@@ -0,0 +1,49 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+        "snaplist.rate-limit.enabled=true",
+        "snaplist.rate-limit.search.per-second=0.01",
+        "snaplist.rate-limit.search.burst=2"
+})
+@ActiveProfiles("test")
+class RateLimitTests extends ApiTestSupport {
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = user("throttled");
+        other = user("bystander");
+    }
+
+    @Test
+    void searchesBeyondTheBurstGet429WithRetryAfter() throws Exception {
+        assertThat(search(user).getResponse().getStatus()).isEqualTo(200);
+        assertThat(search(user).getResponse().getStatus()).isEqualTo(200);
+
+        MvcResult throttled = search(user);
+        assertThat(throttled.getResponse().getStatus()).isEqualTo(429);
+        // one search per 100s
+        assertThat(Long.parseLong(throttled.getResponse().getHeader(HttpHeaders.RETRY_AFTER))).isBetween(99L, 100L);
+
+        // plain reads and other users have their own buckets
+        assertThat(perform(get("/api/tasks"), user).getResponse().getStatus()).isEqualTo(200);
+        assertThat(search(other).getResponse().getStatus()).isEqualTo(200);
+    }
+
+    private MvcResult search(User as) throws Exception {
+        return perform(get("/api/tasks").param("q", "report"), as);
+    }
+}
@@ -0,0 +1,156 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.config.ReplicaRoutingDataSource;
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Two in-memory H2 databases stand in for primary and replica. The replica gets the schema but no
+// replication (replicate() plays catch-up), so whether a read sees the fixtures tells which
+// database served it. The read cache is on: replica reads must stay out of it.
+@SpringBootTest(properties = {
+        "snaplist.replica.enabled=true",
+        "snaplist.read-cache.enabled=true",
+        "snaplist.replica.url=jdbc:h2:mem:replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "snaplist.replica.username=sa",
+        "snaplist.replica.health-check-ms=86400000"
+})
+@ActiveProfiles("test")
+class ReadReplicaTests extends ApiTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        copyToReplica(false);
+        owner = user("replicated");
+        // written behind the API's back: no change event, so no read-your-writes window
+        task = taskRepository.save(task(owner, "only on the primary"));
+    }
+
+    @Test
+    void readOnlyRequestsAreServedByTheReplica() throws Exception {
+        double replicaReads = routed("replica");
+
+        assertThat(total(performOk(get("/api/tasks"), owner))).isZero();
+        MvcResult single = perform(get("/api/tasks/{id}", task.getId()), owner);
+
+        assertThat(single.getResponse().getStatus()).isEqualTo(404);
+        assertThat(routed("replica")).isGreaterThanOrEqualTo(replicaReads + 2);
+    }
+
+    @Test
+    void aUsersOwnWriteKeepsTheirReadsOnThePrimary() throws Exception {
+        performOk(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"fresh\"}"), owner);
+        double recentWrites = routed("recent_write");
+
+        assertThat(total(performOk(get("/api/tasks"), owner))).isEqualTo(2);
+        assertThat(routed("recent_write")).isGreaterThan(recentWrites);
+    }
+
+    @Test
+    void replicaReadsAreNeitherCachedNorTagged() throws Exception {
+        // a committed write the replica hasn't replayed yet, though the read-your-writes window has passed
+        new JdbcTemplate(primary).update(
+                "UPDATE task_counters SET change_version = change_version + 1 WHERE user_id = ?", owner.getId());
+
+        MvcResult lagging = performOk(get("/api/tasks"), owner);
+        assertThat(total(lagging)).isZero();
+        assertThat(lagging.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+        MvcResult laggingCursor = performOk(get("/api/tasks").param("after", ""), owner);
+        assertThat(json(laggingCursor).get("content")).isEmpty();
+        assertThat(laggingCursor.getResponse().getHeader(HttpHeaders.ETAG)).isNull();
+
+        replicate();
+
+        // same version, so a cached or tagged copy of the lagging page would still be served
+        assertThat(total(performOk(get("/api/tasks"), owner))).isEqualTo(1);
+    }
+
+    @Test
+    void primaryReadsStayTaggedAndCached() throws Exception {
+        performOk(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"fresh\"}"), owner);
+
+        MvcResult first = performOk(get("/api/tasks/{id}", task.getId()), owner);
+        assertThat(first.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull();
+        // the version lookup only
+        assertThat(statements(performOk(get("/api/tasks/{id}", task.getId()), owner))).isEqualTo(1);
+    }
+
+    @Test
+    void theChangesFeedReadsThePrimary() throws Exception {
+        // the replica hasn't replayed the fixture: a feed read there would move the cursor past it
+        JsonNode changes = json(performOk(get("/api/tasks/changes").param("since", ""), owner));
+
+        assertThat(changes.get("changed")).extracting(t -> t.get("id").asLong()).containsExactly(task.getId());
+    }
+
+    @Test
+    @DirtiesContext
+    void anUnreachableReplicaFallsBackToThePrimary() throws Exception {
+        double fallbacks = routed("fallback");
+        ((HikariDataSource) replica).close();
+
+        assertThat(total(performOk(get("/api/tasks"), owner))).isEqualTo(1);
+        assertThat(routed("fallback")).isEqualTo(fallbacks + 1);
+        assertThat(routing.isReplicaUp()).isFalse();
+
+        // marked down: later reads go straight to the primary until a health check passes
+        double down = routed("replica_down");
+        assertThat(json(performOk(get("/api/tasks/{id}", task.getId()), owner)).get("id").asLong())
+                .isEqualTo(task.getId());
+        assertThat(routed("replica_down")).isGreaterThan(down);
+    }
+
+    private void replicate() {
+        copyToReplica(true);
+    }
+
+    private void copyToReplica(boolean withData) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        List<String> script = new JdbcTemplate(primary).queryForList(withData ? "SCRIPT" : "SCRIPT NODATA", String.class);
+        for (String statement : script) {
+            if (!statement.startsWith("CREATE USER")) replicaJdbc.execute(statement);
+        }
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("snaplist.datasource.routed").tag("route", route).counter().count();
+    }
+}
@@ -0,0 +1,275 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.TaskTombstone;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.service.TaskBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Batch endpoints: size limits, and per-item outcomes (OK / INVALID / NOT_FOUND) when one
+// call mixes good items with bad ones.
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskBatchTests extends ApiTestSupport {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("batcher");
+    }
+
+    @Test
+    void emptyAndOversizedBatchesAreRejectedWhole() throws Exception {
+        String tooMany = IntStream.rangeClosed(0, TaskBatchService.MAX_BATCH_SIZE)
+                .mapToObj(i -> "{\"text\":\"t" + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        assertThat(status(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(tooMany)))
+                .isEqualTo(400);
+        assertThat(status(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("[]")))
+                .isEqualTo(400);
+        assertThat(taskRepository.count()).isZero();
+
+        long id = taskRepository.save(task(user, "kept")).getId();
+        String ids = IntStream.rangeClosed(0, TaskBatchService.MAX_BATCH_SIZE)
+                .mapToObj(i -> String.valueOf(id))
+                .collect(Collectors.joining(",", "{\"ids\":[", "]}"));
+        assertThat(status(post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON).content(ids)))
+                .isEqualTo(400);
+        assertThat(taskRepository.existsById(id)).isTrue();
+    }
+
+    @Test
+    void invalidItemsAreReportedAndTheRestAreCreated() throws Exception {
+        JsonNode result = perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                [{"text":"first"},
+                 {"text":""},
+                 {"text":"overdue","dueDate":"2000-01-01"},
+                 null,
+                 {"text":"last"}]
+                """));
+
+        assertThat(result.get("succeeded").asInt()).isEqualTo(2);
+        assertThat(result.get("failed").asInt()).isEqualTo(3);
+        assertThat(outcomes(result)).containsExactly("OK", "INVALID", "INVALID", "INVALID", "OK");
+        JsonNode items = result.get("items");
+        assertThat(items.get(1).get("errors").has("text")).isTrue();
+        assertThat(items.get(2).get("errors").has("dueDate")).isTrue();
+        assertThat(items.get(4).get("index").asInt()).isEqualTo(4);
+        assertThat(taskRepository.findAll()).extracting(Task::getText).containsExactlyInAnyOrder("first", "last");
+    }
+
+    @Test
+    void invalidUpdatesLeaveTheirRowsAlone() throws Exception {
+        long a = taskRepository.save(task(user, "a")).getId();
+        long b = taskRepository.save(task(user, "b")).getId();
+
+        JsonNode result = perform(put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(
+                "[{\"id\":" + a + ",\"text\":\"a2\",\"status\":\"DONE\"},"
+                        + "{\"id\":" + b + ",\"text\":\"\"},"
+                        + "{\"text\":\"no id\"}]"));
+
+        assertThat(outcomes(result)).containsExactly("OK", "INVALID", "INVALID");
+        assertThat(result.get("items").get(2).get("errors").has("id")).isTrue();
+        assertThat(taskRepository.findById(a).orElseThrow().getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(taskRepository.findById(b).orElseThrow().getText()).isEqualTo("b");
+    }
+
+    @Test
+    void otherUsersIdsAreNotFoundAndUntouched() throws Exception {
+        long mine = taskRepository.save(task(user, "mine")).getId();
+        long theirs = taskRepository.save(task(user("neighbour"), "theirs")).getId();
+        long missing = theirs + 1000;
+
+        JsonNode updated = perform(put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(
+                "[{\"id\":" + mine + ",\"text\":\"mine2\"},{\"id\":" + theirs + ",\"text\":\"stolen\"},"
+                        + "{\"id\":" + missing + ",\"text\":\"ghost\"}]"));
+        assertThat(outcomes(updated)).containsExactly("OK", "NOT_FOUND", "NOT_FOUND");
+        assertThat(updated.get("items").get(1).get("id").asLong()).isEqualTo(theirs);
+
+        JsonNode completed = perform(post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + theirs + "," + mine + "]}"));
+        assertThat(outcomes(completed)).containsExactly("NOT_FOUND", "OK");
+
+        JsonNode deleted = perform(post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + theirs + "," + missing + "]}"));
+        assertThat(outcomes(deleted)).containsExactly("NOT_FOUND", "NOT_FOUND");
+
+        Task untouched = taskRepository.findById(theirs).orElseThrow();
+        assertThat(untouched.getText()).isEqualTo("theirs");
+        assertThat(untouched.getStatus()).isEqualTo(Task.Status.PENDING);
+    }
+
+    @Test
+    void duplicateIdsAreAppliedOnceAndReportedPerItem() throws Exception {
+        List<Long> ids = createTwo();
+        long a = ids.get(0);
+
+        JsonNode updated = perform(put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(
+                "[{\"id\":" + a + ",\"text\":\"one\",\"priority\":\"HIGH\"},{\"id\":" + a + ",\"text\":\"two\"}]"));
+        assertThat(outcomes(updated)).containsExactly("OK", "OK");
+        // applied in order: text from the last item, priority kept from the first
+        Task t = taskRepository.findById(a).orElseThrow();
+        assertThat(t.getText()).isEqualTo("two");
+        assertThat(t.getPriority()).isEqualTo(Task.Priority.HIGH);
+
+        JsonNode completed = perform(post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + a + "," + a + "]}"));
+        assertThat(outcomes(completed)).containsExactly("OK", "OK");
+        assertThat(total("status", "DONE")).isEqualTo(1);
+        assertThat(total("status", "PENDING")).isEqualTo(1);
+
+        JsonNode deleted = perform(post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + a + "," + a + "]}"));
+        assertThat(outcomes(deleted)).containsExactly("OK", "OK");
+        assertThat(total()).isEqualTo(1);
+        assertThat(tombstoneRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void aBatchBehindAnotherWritersLocksCountsFromWhatItCommitted() throws Exception {
+        List<Long> ids = createTwo();
+        String body = "{\"ids\":[" + ids.get(0) + "," + ids.get(1) + "]}";
+
+        // both completed elsewhere first: nothing left to move between counter cells
+        JsonNode completed = racing(() -> {
+            jdbc.update("UPDATE tasks SET status = 'DONE' WHERE user_id = ?", user.getId());
+            taskCounterRepository.add(user.getId(), 0, -2, 0, 0, 2, 0);
+        }, post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON).content(body));
+        assertThat(outcomes(completed)).containsExactly("OK", "OK");
+        assertThat(cells()).containsExactly(0L, 0L, 0L, 0L, 2L, 0L);
+
+        // both deleted elsewhere first: not found, and not subtracted a second time
+        JsonNode deleted = racing(() -> {
+            jdbc.update("DELETE FROM tasks WHERE user_id = ?", user.getId());
+            taskCounterRepository.add(user.getId(), 0, 0, 0, 0, -2, 0);
+        }, post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON).content(body));
+        assertThat(outcomes(deleted)).containsExactly("NOT_FOUND", "NOT_FOUND");
+        assertThat(cells()).containsExactly(0L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    void onlyRowsTheDeleteRemovedGetTombstones() throws Exception {
+        List<Long> ids = createTwo();
+        long mine = ids.get(0), taken = ids.get(1);
+
+        // the other one is deleted (and tombstoned) by another transaction while the batch waits
+        JsonNode deleted = racing(() -> {
+            jdbc.update("DELETE FROM tasks WHERE id = ?", taken);
+            tombstoneRepository.save(new TaskTombstone(null, taken, user.getId(), Instant.now()));
+            taskCounterRepository.add(user.getId(), 0, -1, 0, 0, 0, 0);
+        }, post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + mine + "," + taken + "]}"));
+
+        assertThat(outcomes(deleted)).containsExactly("OK", "NOT_FOUND");
+        assertThat(tombstoneRepository.findAll()).extracting(TaskTombstone::getTaskId)
+                .containsExactlyInAnyOrder(mine, taken);
+    }
+
+    @Test
+    void aBatchUpdateBehindAnotherWritersLocksStartsFromWhatItCommitted() throws Exception {
+        List<Long> ids = createTwo();
+        long kept = ids.get(0), gone = ids.get(1);
+
+        // one raised to HIGH, the other deleted, both before the batch gets to them
+        JsonNode updated = racing(() -> {
+            jdbc.update("UPDATE tasks SET priority = 'HIGH' WHERE id = ?", kept);
+            jdbc.update("DELETE FROM tasks WHERE id = ?", gone);
+            taskCounterRepository.add(user.getId(), 0, -2, 1, 0, 0, 0);
+        }, put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(
+                "[{\"id\":" + kept + ",\"text\":\"a2\",\"status\":\"DONE\"},{\"id\":" + gone + ",\"text\":\"b2\"}]"));
+
+        assertThat(outcomes(updated)).containsExactly("OK", "NOT_FOUND");
+        assertThat(updated.get("items").get(0).get("task").get("priority").asString()).isEqualTo("HIGH");
+        assertThat(cells()).containsExactly(0L, 0L, 0L, 0L, 0L, 1L);
+    }
+
+    // Runs write in a transaction of its own on another thread and sends the request while that
+    // transaction still holds its row locks; it commits a moment later. The request's batch has
+    // to wait for it (or, had it been slower, starts after it): either way it sees the write.
+    private JsonNode racing(Runnable write, MockHttpServletRequestBuilder request) throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> committed = other.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+                write.run();
+                written.countDown();
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            written.await();
+            JsonNode result = perform(request);
+            committed.get();
+            return result;
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private List<Long> cells() {
+        return Arrays.stream(taskCounterRepository.findById(user.getId()).orElseThrow().cells()).boxed().toList();
+    }
+
+    // created through the API, so the counters know about them
+    private List<Long> createTwo() throws Exception {
+        JsonNode created = perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"text\":\"a\"},{\"text\":\"b\"}]"));
+        return created.findValues("task").stream().map(t -> t.get("id").asLong()).toList();
+    }
+
+    // totalElements as taken from the counters (size=1 makes the first page full)
+    private long total(String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks").param("size", "1");
+        for (int i = 0; i < params.length; i += 2) request.param(params[i], params[i + 1]);
+        return total(performOk(request, user));
+    }
+
+    private static List<String> outcomes(JsonNode result) {
+        List<String> outcomes = new ArrayList<>();
+        result.get("items").forEach(item -> outcomes.add(item.get("outcome").asString()));
+        return outcomes;
+    }
+
+    private int status(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, user).getResponse().getStatus();
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = performOk(request, user);
+        return json(result);
+    }
+}
@@ -0,0 +1,159 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.service.TaskCounts;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCounterTests extends ApiTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("tally");
+    }
+
+    @Test
+    void everyWritePathKeepsTheCountersExact() throws Exception {
+        List<Long> ids = createFixture();
+        long single = perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"single\",\"priority\":\"LOW\"}")).get("id").asLong();
+
+        perform(put("/api/tasks/{id}", single).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"single\",\"priority\":\"HIGH\"}"));
+        perform(put("/api/tasks/{id}", ids.get(3)).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"renamed only\"}"));
+        perform(post("/api/tasks/{id}/complete", ids.get(0)));
+        perform(post("/api/tasks/{id}/complete", ids.get(2)));     // already done
+        perform(put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":" + ids.get(1) + ",\"text\":\"b\",\"status\":\"DONE\",\"priority\":\"LOW\"}]"));
+        perform(post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + ids.get(3) + "," + single + "]}"));
+        perform(delete("/api/tasks/{id}", ids.get(0)));
+        perform(post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + ids.get(2) + "]}"));
+
+        assertThat(stored()).isEqualTo(recounted());
+        double before = corrected();
+        taskCounterService.reconcileAll();
+        assertThat(corrected()).isEqualTo(before);
+
+        // left: [1] DONE/LOW, [3] DONE/MEDIUM, single DONE/HIGH
+        assertThat(total()).isEqualTo(3);
+        assertThat(total("status", "PENDING")).isZero();
+        assertThat(total("priority", "HIGH")).isEqualTo(1);
+    }
+
+    @Test
+    void listTotalsFollowTheFilters() throws Exception {
+        createFixture();
+
+        assertThat(total()).isEqualTo(4);
+        assertThat(total("status", "PENDING")).isEqualTo(3);
+        assertThat(total("priority", "HIGH")).isEqualTo(2);
+        assertThat(total("status", "DONE", "priority", "LOW")).isEqualTo(1);
+        assertThat(total("status", "DONE", "priority", "HIGH")).isZero();
+        // text search can't be answered from the counters and still counts
+        assertThat(total("q", "task")).isEqualTo(4);
+    }
+
+    @Test
+    void reconciliationCorrectsRowsWrittenAroundTheCounters() throws Exception {
+        createFixture();
+        taskRepository.save(task(Task.Status.PENDING, Task.Priority.LOW));
+        assertThat(total()).isEqualTo(4);
+
+        double before = corrected();
+        taskCounterService.reconcileAll();
+
+        assertThat(corrected()).isEqualTo(before + 1);
+        assertThat(stored()).isEqualTo(recounted());
+        assertThat(total()).isEqualTo(5);
+    }
+
+    @Test
+    void usersWithoutCountersFallBackToCountingUntilReconciled() throws Exception {
+        taskCounterRepository.deleteAllInBatch();
+        taskRepository.saveAll(List.of(task(Task.Status.PENDING, Task.Priority.HIGH), task(Task.Status.DONE, Task.Priority.LOW)));
+
+        assertThat(total()).isEqualTo(2);
+        assertThat(total("status", "DONE")).isEqualTo(1);
+
+        taskCounterService.reconcileAll();
+        assertThat(taskCounterRepository.findById(user.getId())).isPresent();
+        assertThat(stored()).isEqualTo(recounted());
+    }
+
+    // [0] PENDING/HIGH, [1] PENDING/HIGH, [2] DONE/LOW, [3] PENDING/MEDIUM
+    private List<Long> createFixture() throws Exception {
+        return ids(perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                [{"text":"task a","priority":"HIGH"},
+                 {"text":"task b","priority":"HIGH"},
+                 {"text":"task c","status":"DONE","priority":"LOW"},
+                 {"text":"task d"}]
+                """)));
+    }
+
+    private long total(String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/tasks").param("size", "1");
+        for (int i = 0; i < params.length; i += 2) request.param(params[i], params[i + 1]);
+        return perform(request).findValue("totalElements").asLong();
+    }
+
+    private List<Long> stored() {
+        return asList(taskCounterRepository.findById(user.getId()).orElseThrow().cells());
+    }
+
+    private List<Long> recounted() {
+        long[] cells = new long[TaskCounts.CELLS];
+        for (Object[] row : taskRepository.countByUser(List.of(user.getId()))) {
+            cells[TaskCounts.cell((Task.Status) row[1], (Task.Priority) row[2])] += ((Number) row[3]).longValue();
+        }
+        return asList(cells);
+    }
+
+    private double corrected() {
+        return meterRegistry.get("snaplist.task-counters.corrected").counter().count();
+    }
+
+    private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = performOk(request, user);
+        return result.getResponse().getContentAsString().isEmpty() ? null : json(result);
+    }
+
+    private static List<Long> ids(JsonNode batch) {
+        return batch.findValues("task").stream().map(t -> t.get("id").asLong()).toList();
+    }
+
+    private static List<Long> asList(long[] cells) {
+        return Arrays.stream(cells).boxed().toList();
+    }
+
+    private Task task(Task.Status status, Task.Priority priority) {
+        Task t = task(user, "direct");
+        t.setStatus(status);
+        t.setPriority(priority);
+        return t;
+    }
+}
@@ -0,0 +1,107 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Keyset listing (GET /api/tasks?after=...): newest first, id breaking ties on created_at.
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCursorPagingTests extends ApiTestSupport {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("pager");
+    }
+
+    @Test
+    void rowsSharingCreatedAtArePagedByIdWithoutGapsOrRepeats() throws Exception {
+        List<Long> ids = save(7);
+        jdbc.update("UPDATE tasks SET created_at = ? WHERE user_id = ?",
+                Timestamp.from(Instant.parse("2024-01-01T00:00:00Z")), user.getId());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        JsonNode page;
+        do {
+            page = page(cursor, 3);
+            page.get("content").forEach(t -> seen.add(t.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asString();
+        } while (page.get("hasNext").asBoolean());
+
+        assertThat(seen).isEqualTo(ids.stream().sorted(Comparator.reverseOrder()).toList());
+        assertThat(cursor).isNull();
+    }
+
+    @Test
+    void anExactlyFullLastPageHasNoNext() throws Exception {
+        save(4);
+        JsonNode first = page("", 2);
+        assertThat(first.get("hasNext").asBoolean()).isTrue();
+
+        JsonNode last = page(first.get("nextCursor").asString(), 2);
+        assertThat(last.get("content")).hasSize(2);
+        assertThat(last.get("hasNext").asBoolean()).isFalse();
+        assertThat(last.get("nextCursor").isNull()).isTrue();
+    }
+
+    @Test
+    void noTasksIsOneEmptyPage() throws Exception {
+        JsonNode empty = page("", 20);
+        assertThat(empty.get("content")).isEmpty();
+        assertThat(empty.get("hasNext").asBoolean()).isFalse();
+    }
+
+    @Test
+    void sizeIsCappedAtOneHundred() throws Exception {
+        save(101);
+        JsonNode page = page("", 500);
+        assertThat(page.get("content")).hasSize(100);
+        assertThat(page.get("hasNext").asBoolean()).isTrue();
+
+        assertThat(page("", 0).get("content")).hasSize(1);
+    }
+
+    @Test
+    void malformedCursorsAreBadRequests() throws Exception {
+        String noId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1700000000.0".getBytes(StandardCharsets.US_ASCII));
+        for (String cursor : List.of("not-a-cursor", "!!!", noId)) {
+            MvcResult r = perform(get("/api/tasks").param("after", cursor), user);
+            assertThat(r.getResponse().getStatus()).as(cursor).isEqualTo(400);
+        }
+    }
+
+    private List<Long> save(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) tasks.add(task(user, "task " + i));
+        return taskRepository.saveAll(tasks).stream().map(Task::getId).toList();
+    }
+
+    private JsonNode page(String after, int size) throws Exception {
+        return json(performOk(get("/api/tasks").param("after", after).param("size", String.valueOf(size)), user));
+    }
+}
@@ -0,0 +1,67 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskExportTests extends ApiTestSupport {
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("exporter");
+        User other = user("bystander");
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) tasks.add(task(user, "task " + i));
+        tasks.add(task(user, "milk, eggs and \"good\" bread"));
+        tasks.add(task(other, "not mine"));
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerOwnedTask() throws Exception {
+        MvcResult result = perform(get("/api/tasks/export"));
+
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION)).contains("tasks.ndjson");
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(1201).allMatch(l -> l.startsWith("{") && l.endsWith("}"));
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("not mine");
+    }
+
+    @Test
+    void csvQuotesOnlyWhatNeedsQuoting() throws Exception {
+        String body = perform(get("/api/tasks/export").param("format", "CSV")).getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines[0]).isEqualTo("id,text,status,priority,dueDate,createdAt,updatedAt");
+        assertThat(lines).hasSize(1202);
+        assertThat(body).contains(",\"milk, eggs and \"\"good\"\" bread\",PENDING,MEDIUM,,");
+        assertThat(body).contains(",task 7,PENDING,MEDIUM,,");
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        assertThat(perform(get("/api/tasks/export").param("format", "xml")).getResponse().getStatus()).isEqualTo(400);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, user);
+    }
+}
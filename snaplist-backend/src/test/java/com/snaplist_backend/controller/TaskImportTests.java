@@ -0,0 +1,103 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskImportTests extends ApiTestSupport {
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("importer");
+    }
+
+    @Test
+    void ndjsonAcrossSeveralChunksWithBadRows() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 1203; i++) {
+            if (i == 10) body.append("{not json\n");
+            else if (i == 700) body.append("{\"text\":\"\"}\n");
+            else if (i == 1100) body.append("\n");
+            else body.append("{\"text\":\"row ").append(i).append("\",\"priority\":\"HIGH\"}\n");
+        }
+
+        JsonNode result = importBody("application/x-ndjson", body.toString());
+
+        assertThat(result.get("rows").asLong()).isEqualTo(1202);
+        assertThat(result.get("imported").asLong()).isEqualTo(1200);
+        assertThat(result.get("failed").asLong()).isEqualTo(2);
+        assertThat(List.of(result.get("errors").get(0).get("line").asLong(), result.get("errors").get(1).get("line").asLong()))
+                .containsExactly(10L, 700L);
+        assertThat(result.get("errors").get(1).get("errors").has("text")).isTrue();
+        assertThat(result.get("rowsPerSecond").asDouble()).isPositive();
+        assertThat(taskRepository.count()).isEqualTo(1200);
+    }
+
+    @Test
+    void csvWithQuotedFieldsAndPerColumnErrors() throws Exception {
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        String body = "text,priority,dueDate,status\r\n"
+                + "\"milk, eggs\",low," + tomorrow + ",\r\n"
+                + "\"two\nlines\",HIGH,,DONE\r\n"
+                + "bad priority,URGENT,,\r\n"
+                + "bad date,,tomorrow,\r\n";
+
+        JsonNode result = importBody("text/csv", body);
+
+        assertThat(result.get("imported").asLong()).isEqualTo(2);
+        assertThat(result.get("failed").asLong()).isEqualTo(2);
+        assertThat(result.get("errors").get(0).get("line").asLong()).isEqualTo(5);
+        assertThat(result.get("errors").get(0).get("errors").has("priority")).isTrue();
+        assertThat(result.get("errors").get(1).get("errors").has("dueDate")).isTrue();
+
+        List<Task> saved = taskRepository.findAll();
+        assertThat(saved).extracting(Task::getText).containsExactlyInAnyOrder("milk, eggs", "two\nlines");
+        assertThat(saved).filteredOn(t -> t.getText().equals("two\nlines")).first()
+                .extracting(Task::getStatus).isEqualTo(Task.Status.DONE);
+    }
+
+    @Test
+    void csvExportImportsBackUnchanged() throws Exception {
+        importBody("application/x-ndjson", "{\"text\":\"a \\\"quoted\\\", text\"}\n{\"text\":\"plain\",\"priority\":\"LOW\"}\n");
+        String exported = perform(get("/api/tasks/export").param("format", "csv")).getResponse().getContentAsString();
+
+        JsonNode result = importBody("text/csv", exported);
+
+        assertThat(result.get("imported").asLong()).isEqualTo(2);
+        assertThat(taskRepository.findAll()).extracting(Task::getText)
+                .containsExactlyInAnyOrder("a \"quoted\", text", "plain", "a \"quoted\", text", "plain");
+    }
+
+    @Test
+    void csvWithoutTextColumnIsRejected() throws Exception {
+        MvcResult result = perform(post("/api/tasks/import").contentType("text/csv").content("title\nx\n"));
+        assertThat(result.getResponse().getStatus()).isEqualTo(400);
+    }
+
+    private JsonNode importBody(String contentType, String body) throws Exception {
+        MvcResult result = perform(post("/api/tasks/import").contentType(contentType).content(body));
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return json(result);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, user);
+    }
+}
@@ -0,0 +1,136 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import tools.jackson.databind.JsonNode;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Single-task writes go through owner-scoped SQL (TaskRepositoryImpl): a task that belongs to
+// someone else must look exactly like a missing one and stay as it was. The embedded database
+// runs the non-RETURNING variants: a text-only PUT is UPDATE + SELECT, a PUT that sends status or
+// priority, completion and delete lock the row with SELECT ... FOR UPDATE first. The PostgreSQL
+// RETURNING statements carry the same WHERE id = ? AND user_id = ? and are covered by
+// TaskRepositoryPostgresTests (-Ppostgres).
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskOwnershipTests extends ApiTestSupport {
+
+    private static final LocalDate DUE = LocalDate.now().plusDays(7);
+
+    private User user;
+    private User neighbour;
+
+    @BeforeEach
+    void setUp() {
+        user = user("owner");
+        neighbour = user("neighbour");
+    }
+
+    @Test
+    void anotherUsersTaskIsNotFoundForEveryWriteAndStaysUnchanged() throws Exception {
+        long theirs = taskRepository.save(task(neighbour, "theirs")).getId();
+        // as stored, not as stamped (the column keeps microseconds)
+        Instant stamped = taskRepository.findById(theirs).orElseThrow().getUpdatedAt();
+
+        for (MockHttpServletRequestBuilder write : writes(theirs)) {
+            assertThat(perform(write, user).getResponse().getStatus()).isEqualTo(404);
+        }
+
+        Task after = taskRepository.findById(theirs).orElseThrow();
+        assertThat(after.getText()).isEqualTo("theirs");
+        assertThat(after.getStatus()).isEqualTo(Task.Status.PENDING);
+        assertThat(after.getPriority()).isEqualTo(Task.Priority.MEDIUM);
+        assertThat(after.getUpdatedAt()).isEqualTo(stamped);
+    }
+
+    @Test
+    void aMissingTaskIsNotFoundForEveryWrite() throws Exception {
+        long missing = taskRepository.save(task(user, "mine")).getId() + 1000;
+
+        for (MockHttpServletRequestBuilder write : writes(missing)) {
+            assertThat(perform(write, user).getResponse().getStatus()).isEqualTo(404);
+        }
+    }
+
+    @Test
+    void updateReplacesTheTextAndOnlyTheFieldsThatWereSent() throws Exception {
+        long id = create("{\"text\":\"original\",\"priority\":\"HIGH\",\"dueDate\":\"" + DUE + "\"}");
+
+        // text only: the untracked path
+        JsonNode renamed = update(id, "{\"text\":\"renamed\"}");
+        assertThat(renamed.get("text").asString()).isEqualTo("renamed");
+        assertThat(renamed.get("status").asString()).isEqualTo("PENDING");
+        assertThat(renamed.get("priority").asString()).isEqualTo("HIGH");
+        assertThat(renamed.get("dueDate").asString()).isEqualTo(DUE.toString());
+
+        // status as well: the locking path; text is still replaced
+        JsonNode done = update(id, "{\"text\":\"done now\",\"status\":\"DONE\"}");
+        assertThat(done.get("text").asString()).isEqualTo("done now");
+        assertThat(done.get("status").asString()).isEqualTo("DONE");
+        assertThat(done.get("priority").asString()).isEqualTo("HIGH");
+        assertThat(done.get("dueDate").asString()).isEqualTo(DUE.toString());
+
+        Task stored = taskRepository.findById(id).orElseThrow();
+        assertThat(stored.getText()).isEqualTo("done now");
+        assertThat(stored.getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(stored.getPriority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(stored.getDueDate()).isEqualTo(DUE);
+    }
+
+    @Test
+    void batchUpdatesFollowTheSameFieldRules() throws Exception {
+        long single = create("{\"text\":\"a\",\"priority\":\"HIGH\",\"dueDate\":\"" + DUE + "\"}");
+        long batched = create("{\"text\":\"a\",\"priority\":\"HIGH\",\"dueDate\":\"" + DUE + "\"}");
+
+        JsonNode viaPut = update(single, "{\"text\":\"b\",\"status\":\"DONE\"}");
+        JsonNode viaBatch = json(performOk(put("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":" + batched + ",\"text\":\"b\",\"status\":\"DONE\"}]"), user))
+                .get("items").get(0).get("task");
+
+        for (String field : List.of("text", "status", "priority", "dueDate")) {
+            assertThat(viaBatch.get(field)).as(field).isEqualTo(viaPut.get(field));
+        }
+    }
+
+    @Test
+    void deletingRemovesOnlyTheOwnersRow() throws Exception {
+        long mine = create("{\"text\":\"mine\"}");
+        Task theirs = taskRepository.save(task(neighbour, "theirs"));
+
+        assertThat(perform(delete("/api/tasks/{id}", mine), user).getResponse().getStatus()).isEqualTo(204);
+        assertThat(perform(delete("/api/tasks/{id}", mine), user).getResponse().getStatus()).isEqualTo(404);
+        assertThat(taskRepository.existsById(mine)).isFalse();
+        assertThat(taskRepository.existsById(theirs.getId())).isTrue();
+    }
+
+    // every single-task write, in the SQL variants the embedded database runs
+    private static List<MockHttpServletRequestBuilder> writes(long id) {
+        return List.of(
+                put("/api/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"stolen\"}"),
+                put("/api/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"stolen\",\"status\":\"DONE\",\"priority\":\"LOW\"}"),
+                post("/api/tasks/{id}/complete", id),
+                delete("/api/tasks/{id}", id));
+    }
+
+    private long create(String body) throws Exception {
+        return json(performOk(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(body), user))
+                .get("id").asLong();
+    }
+
+    private JsonNode update(long id, String body) throws Exception {
+        return json(performOk(put("/api/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON).content(body), user));
+    }
+}
@@ -0,0 +1,85 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest(properties = "snaplist.read-cache.enabled=true")
+@ActiveProfiles("test")
+class TaskReadCacheTests extends ApiTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private User other;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        owner = user("reader");
+        other = user("writer");
+        task = taskRepository.save(task(owner, "cached"));
+    }
+
+    @Test
+    void repeatedReadsCostOnlyTheVersionLookup() throws Exception {
+        double hits = hits("task");
+
+        assertThat(statements(performOk(get("/api/tasks/{id}", task.getId()), owner))).isEqualTo(2);
+        MvcResult again = performOk(get("/api/tasks/{id}", task.getId()), owner);
+
+        assertThat(statements(again)).isEqualTo(1);
+        assertThat(json(again).get("text").asString()).isEqualTo("cached");
+        assertThat(hits("task")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void theOwnersWriteRetiresTheirEntries() throws Exception {
+        performOk(get("/api/tasks/{id}", task.getId()), owner);
+        assertThat(total(performOk(get("/api/tasks"), owner))).isEqualTo(1);
+
+        performOk(put("/api/tasks/{id}", task.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"text\":\"renamed\"}"), owner);
+        performOk(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"second\"}"), owner);
+
+        MvcResult read = performOk(get("/api/tasks/{id}", task.getId()), owner);
+        assertThat(statements(read)).isEqualTo(2);
+        assertThat(json(read).get("text").asString()).isEqualTo("renamed");
+        assertThat(total(performOk(get("/api/tasks"), owner))).isEqualTo(2);
+    }
+
+    @Test
+    void otherUsersWritesLeaveTheCacheAlone() throws Exception {
+        performOk(get("/api/tasks"), owner);
+
+        performOk(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"mine\"}"), other);
+
+        assertThat(statements(performOk(get("/api/tasks"), owner))).isEqualTo(1);
+    }
+
+    @Test
+    void listPagesAreKeyedByTheirParameters() throws Exception {
+        performOk(get("/api/tasks").param("status", "PENDING"), owner);
+
+        assertThat(statements(performOk(get("/api/tasks").param("status", "DONE"), owner))).isEqualTo(2);
+        assertThat(statements(performOk(get("/api/tasks").param("status", "PENDING"), owner))).isEqualTo(1);
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("snaplist.read-cache.requests").tag("cache", cache).tag("result", "hit")
+                .counter().count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.service.TaskEventHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskStreamTests extends ApiTestSupport {
+
+    @Autowired
+    private TaskEventHub hub;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("streamer");
+    }
+
+    @Test
+    void committedWritesArePushedToEveryOpenStreamOfTheUser() throws Exception {
+        int before = hub.connections();
+        MvcResult first = perform(get("/api/tasks/stream"));
+        MvcResult second = perform(get("/api/tasks/stream"));
+        assertThat(first.getRequest().isAsyncStarted()).isTrue();
+        assertThat(hub.connections()).isEqualTo(before + 2);
+
+        perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"pushed\"}"));
+
+        for (MvcResult stream : new MvcResult[]{first, second}) {
+            await(() -> content(stream).contains("event:task"));
+            assertThat(content(stream)).contains("\"kind\":\"CREATED\"");
+        }
+    }
+
+    @Test
+    void failedWritesPublishNothing() throws Exception {
+        MvcResult stream = perform(get("/api/tasks/stream"));
+
+        perform(delete("/api/tasks/{id}", 999_999L));
+        perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"marker\"}"));
+
+        await(() -> content(stream).contains("CREATED"));
+        assertThat(content(stream)).doesNotContain("DELETED");
+    }
+
+    @Test
+    void oldestStreamIsClosedPastThePerUserLimit() throws Exception {
+        int before = hub.connections();
+        for (int i = 0; i < 7; i++) perform(get("/api/tasks/stream"));
+
+        assertThat(hub.connections()).isEqualTo(before + 5);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, user);
+    }
+
+    private static String content(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+}
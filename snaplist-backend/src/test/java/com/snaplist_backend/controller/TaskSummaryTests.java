@@ -0,0 +1,85 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSummaryTests extends ApiTestSupport {
+
+    private User user;
+    private Task dueToday;
+
+    @BeforeEach
+    void setUp() {
+        user = user("summary");
+        User other = user("elsewhere");
+        LocalDate today = LocalDate.now();
+
+        dueToday = task(user, Task.Status.PENDING, Task.Priority.HIGH, today);
+        taskRepository.saveAll(List.of(
+                dueToday,
+                task(user, Task.Status.DONE, Task.Priority.HIGH, today),
+                task(user, Task.Status.PENDING, Task.Priority.LOW, today.minusDays(3)),
+                task(user, Task.Status.DONE, Task.Priority.LOW, today.minusDays(3)),
+                task(user, Task.Status.PENDING, Task.Priority.MEDIUM, null),
+                task(other, Task.Status.PENDING, Task.Priority.HIGH, today.minusDays(1))));
+    }
+
+    @Test
+    void countsComeFromOneAggregate() throws Exception {
+        JsonNode s = summary();
+
+        assertThat(s.get("total").asLong()).isEqualTo(5);
+        assertThat(s.get("byStatus").get("PENDING").asLong()).isEqualTo(3);
+        assertThat(s.get("byStatus").get("DONE").asLong()).isEqualTo(2);
+        assertThat(s.get("byPriority").get("HIGH").asLong()).isEqualTo(2);
+        assertThat(s.get("byPriority").get("MEDIUM").asLong()).isEqualTo(1);
+        assertThat(s.get("byPriority").get("LOW").asLong()).isEqualTo(2);
+        assertThat(s.get("dueToday").asLong()).isEqualTo(2);
+        assertThat(s.get("overdue").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyUserGetsZeroes() throws Exception {
+        taskRepository.deleteAllInBatch();
+        JsonNode s = summary();
+
+        assertThat(s.get("total").asLong()).isZero();
+        assertThat(s.get("byStatus").get("PENDING").asLong()).isZero();
+        assertThat(s.get("byPriority").get("LOW").asLong()).isZero();
+    }
+
+    @Test
+    void aWriteThroughTheApiRefreshesTheCachedSummary() throws Exception {
+        assertThat(summary().get("byStatus").get("DONE").asLong()).isEqualTo(2);
+
+        perform(post("/api/tasks/{id}/complete", dueToday.getId()), user);
+
+        assertThat(summary().get("byStatus").get("DONE").asLong()).isEqualTo(3);
+    }
+
+    private JsonNode summary() throws Exception {
+        return json(perform(get("/api/tasks/summary"), user));
+    }
+
+    private static Task task(User owner, Task.Status status, Task.Priority priority, LocalDate due) {
+        Task t = task(owner, "task");
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setDueDate(due);
+        return t;
+    }
+}
@@ -0,0 +1,164 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskSyncTests extends ApiTestSupport {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = user("syncer");
+    }
+
+    @Test
+    void returnsOnlyWhatHappenedAfterTheCursor() throws Exception {
+        long a = create("a");
+        long b = create("b");
+        JsonNode first = changes("");
+        assertThat(ids(first.get("changed"))).containsExactly(a, b);
+        assertThat(first.get("hasMore").asBoolean()).isFalse();
+
+        JsonNode idle = changes(first.get("cursor").asString());
+        assertThat(idle.get("changed")).isEmpty();
+        assertThat(idle.get("deleted")).isEmpty();
+
+        long c = create("c");
+        perform(put("/api/tasks/{id}", a).contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"a2\"}"));
+        perform(delete("/api/tasks/{id}", b));
+
+        JsonNode delta = changes(idle.get("cursor").asString());
+        assertThat(ids(delta.get("changed"))).containsExactly(c, a);
+        assertThat(delta.get("changed").get(1).get("text").asString()).isEqualTo("a2");
+        assertThat(ids(delta.get("deleted"))).containsExactly(b);
+    }
+
+    @Test
+    void largeBacklogIsPagedWithoutLosingRows() throws Exception {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < 25; i++) batch.append(i == 0 ? "" : ",").append("{\"text\":\"t").append(i).append("\"}");
+        perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(batch.append("]").toString()));
+        JsonNode created = changes("");
+        List<Long> all = ids(created.get("changed"));
+
+        // one bulk UPDATE: every row gets the same updated_at, so paging must go by id within it
+        perform(post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":" + all + "}"));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = created.get("cursor").asString();
+        JsonNode page;
+        do {
+            page = changes(cursor, 10);
+            seen.addAll(ids(page.get("changed")));
+            cursor = page.get("cursor").asString();
+        } while (page.get("hasMore").asBoolean());
+
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(all);
+    }
+
+    @Test
+    void aSlowCommitIsNotSkipped() throws Exception {
+        String cursor = changes("").get("cursor").asString();
+
+        // stamped now, committed only after a sync has run
+        CountDownLatch stamped = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() ->
+                new TransactionTemplate(transactionManager).execute(status -> {
+                    Long id = taskRepository.saveAndFlush(task(user, "slow")).getId();
+                    stamped.countDown();
+                    await(release);
+                    return id;
+                }));
+        await(stamped);
+        long fast = create("fast");
+
+        JsonNode before = changes(cursor);
+        assertThat(ids(before.get("changed"))).doesNotContain(fast);
+
+        release.countDown();
+        long late = slow.get(10, TimeUnit.SECONDS);
+        JsonNode after = changes(before.get("cursor").asString());
+        assertThat(ids(after.get("changed"))).containsExactly(late, fast);
+    }
+
+    @Test
+    void otherUsersChangesStayInvisible() throws Exception {
+        create("mine");
+        perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"theirs\"}"),
+                user("neighbour"));
+
+        JsonNode all = changes("");
+        assertThat(all.get("changed")).hasSize(1);
+        assertThat(all.get("changed").get(0).get("text").asString()).isEqualTo("mine");
+    }
+
+    @Test
+    void expiredAndMalformedCursorsAreRejected() throws Exception {
+        String ancient = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1.0:1:1.0:1".getBytes(StandardCharsets.US_ASCII));
+        assertThat(perform(get("/api/tasks/changes").param("since", ancient)).getResponse().getStatus()).isEqualTo(410);
+        assertThat(perform(get("/api/tasks/changes").param("since", "not-a-cursor")).getResponse().getStatus()).isEqualTo(400);
+    }
+
+    private long create(String text) throws Exception {
+        MvcResult r = perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"text\":\"" + text + "\"}"));
+        return json(r).get("id").asLong();
+    }
+
+    private JsonNode changes(String since) throws Exception {
+        return changes(since, 200);
+    }
+
+    private JsonNode changes(String since, int size) throws Exception {
+        MvcResult r = perform(get("/api/tasks/changes").param("since", since).param("size", String.valueOf(size)));
+        assertThat(r.getResponse().getStatus()).isEqualTo(200);
+        return json(r);
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(n -> ids.add(n.isObject() ? n.get("id").asLong() : n.asLong()));
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return perform(request, user);
+    }
+}
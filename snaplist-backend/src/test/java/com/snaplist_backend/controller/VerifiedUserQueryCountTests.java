@@ -0,0 +1,43 @@
+package com.snaplist_backend.controller;
+
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.security.UserPrincipalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// EndpointQueryCountTests with jwt.verify-user on: every token's account is confirmed through the
+// user lookup cache, so a request costs one extra SELECT on a miss and nothing more on a hit.
+@SpringBootTest(properties = "jwt.verify-user=true")
+@ActiveProfiles("test")
+class VerifiedUserQueryCountTests extends ApiTestSupport {
+
+    @Autowired
+    private UserPrincipalService principals;
+
+    private User user;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        user = user("verified");
+        // the fixture user is recreated under a new id for every test
+        principals.evict(user.getUsername());
+        taskId = taskRepository.save(task(user, "task")).getId();
+    }
+
+    @Test
+    void verifyingTheAccountIsOneCachedLookup() throws Exception {
+        assertThat(EndpointQueryCountTests.byType(performOk(get("/api/tasks/{id}", taskId), user)))
+                .isEqualTo(Map.of("SELECT", 3));
+        assertThat(EndpointQueryCountTests.byType(performOk(get("/api/tasks/{id}", taskId), user)))
+                .isEqualTo(Map.of("SELECT", 2));
+    }
+}
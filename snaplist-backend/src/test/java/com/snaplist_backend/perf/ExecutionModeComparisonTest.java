@@ -0,0 +1,116 @@
+package com.snaplist_backend.perf;
+
+import com.snaplist_backend.SnaplistBackendApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Boots the app twice on the embedded database, once per execution mode, with a deliberately
+// small Tomcat pool and connection pool, and drives GET /api/tasks with many concurrent clients.
+//   mvn -Pperf test -Dtest=ExecutionModeComparisonTest
+@Tag("perf")
+class ExecutionModeComparisonTest {
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 25;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        System.out.printf("%-10s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 (ms)", "p99 (ms)", "max (ms)", "errors");
+        run("platform", false);
+        run("virtual", true);
+    }
+
+    private void run(String label, boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(SnaplistBackendApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.threads.max=50",
+                        "spring.datasource.hikari.maximum-pool-size=8",
+                        "snaplist.db.max-concurrent=8")
+                .run()) {
+
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            HttpClient http = HttpClient.newHttpClient();
+            String token = login(http, base, "perf-" + label);
+            for (int i = 0; i < 100; i++) {
+                send(http, post(base + "/api/tasks", token, "{\"text\":\"task " + i + "\"}"));
+            }
+
+            HttpRequest list = HttpRequest.newBuilder(URI.create(base + "/api/tasks?size=20&q=task"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build();
+
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    int client = c;
+                    futures.add(clients.submit(() -> {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long t0 = System.nanoTime();
+                            int status = send(http, list).statusCode();
+                            latencies[client * REQUESTS_PER_CLIENT + r] = System.nanoTime() - t0;
+                            if (status != 200) errors.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> f : futures) f.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-10s %10.0f %10.1f %10.1f %10.1f %8d%n", label,
+                    latencies.length / seconds,
+                    latencies[latencies.length / 2] / 1e6,
+                    latencies[latencies.length * 99 / 100] / 1e6,
+                    latencies[latencies.length - 1] / 1e6,
+                    errors.get());
+        }
+    }
+
+    private static String login(HttpClient http, String base, String username) throws Exception {
+        String creds = "{\"username\":\"" + username + "\",\"password\":\"password123\"";
+        send(http, post(base + "/api/auth/register", null, creds + ",\"email\":\"" + username + "@example.com\"}"));
+        String body = send(http, post(base + "/api/auth/login", null, creds + "}")).body();
+        Matcher m = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(body);
+        if (!m.find()) throw new IllegalStateException("Login failed: " + body);
+        return m.group(1);
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b.build();
+    }
+
+    private static HttpResponse<String> send(HttpClient http, HttpRequest req) {
+        try {
+            return http.send(req, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.snaplist_backend.perf;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Collects raw latency samples for one endpoint; percentiles are computed once at the end.
+class LatencyRecorder {
+
+    private final String name;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] samples = new long[1 << 14];
+    private int count;
+    private int errors;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, boolean ok) {
+        lock.lock();
+        try {
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = nanos;
+            if (!ok) errors++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static String header() {
+        return String.format("%-16s %9s %9s %9s %9s %9s %9s %7s",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+    }
+
+    String summary(double seconds) {
+        lock.lock();
+        try {
+            if (count == 0) return String.format("%-16s %9d", name, 0);
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return String.format("%-16s %9d %9.0f %9.2f %9.2f %9.2f %9.2f %7d",
+                    name, count, count / seconds,
+                    pct(sorted, 0.50), pct(sorted, 0.99), pct(sorted, 0.999),
+                    sorted[count - 1] / 1e6, errors);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static double pct(long[] sorted, double p) {
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1e6;
+    }
+}
@@ -0,0 +1,207 @@
+package com.snaplist_backend.perf;
+
+import com.snaplist_backend.SnaplistBackendApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// End-to-end load test: boots the whole app, seeds users and (by default) a million tasks,
+// then runs a mixed workload over HTTP and prints per-endpoint throughput and p50/p99/p999.
+//
+//   mvn -Pperf test -Dtest=LoadTestHarness                        (embedded H2, "test" profile)
+//   mvn -Pperf test -Dtest=LoadTestHarness -Dloadtest.profile=     (local PostgreSQL from application.properties)
+//
+// Knobs (system properties): loadtest.users, loadtest.tasksPerUser, loadtest.concurrency,
+// loadtest.durationSeconds, loadtest.profile. Run it at growing tasksPerUser to catch
+// endpoints whose latency scales with table size.
+@Tag("perf")
+class LoadTestHarness {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 10);
+    private static final int TASKS_PER_USER = Integer.getInteger("loadtest.tasksPerUser", 100_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 64);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 60);
+    private static final String PROFILE = System.getProperty("loadtest.profile", "test");
+
+    // operation -> weight (percent)
+    private static final Map<String, Integer> MIX = new LinkedHashMap<>();
+    static {
+        MIX.put("list", 25);
+        MIX.put("list-filtered", 15);
+        MIX.put("search", 20);
+        MIX.put("get", 10);
+        MIX.put("create", 12);
+        MIX.put("update", 8);
+        MIX.put("complete", 6);
+        MIX.put("delete", 4);
+    }
+
+    // readIds: existing tasks used by get/update/complete; deletable: a disjoint pool (plus
+    // everything the workload creates) so deletes never race the other operations.
+    private record Session(long userId, String token, List<Long> readIds, ConcurrentLinkedDeque<Long> deletable) {}
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        SpringApplicationBuilder app = new SpringApplicationBuilder(SnaplistBackendApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false",
+                        // a handful of synthetic users would only measure their own rate limits
+                        "snaplist.rate-limit.enabled=false");
+        if (!PROFILE.isBlank()) app.profiles(PROFILE);
+
+        try (ConfigurableApplicationContext ctx = app.run()) {
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+
+            List<Session> sessions = seed(base, jdbc);
+            MIX.keySet().forEach(op -> recorders.put(op, new LatencyRecorder(op)));
+
+            long deadline = System.nanoTime() + DURATION_SECONDS * 1_000_000_000L;
+            long start = System.nanoTime();
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int w = 0; w < CONCURRENCY; w++) {
+                    Session session = sessions.get(w % sessions.size());
+                    futures.add(workers.submit(() -> {
+                        while (System.nanoTime() < deadline) step(base, session);
+                        return null;
+                    }));
+                }
+                for (Future<?> f : futures) f.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%n%d users x %d tasks, %d workers, %.0fs, profile '%s'%n",
+                    USERS, TASKS_PER_USER, CONCURRENCY, seconds, PROFILE);
+            System.out.println(LatencyRecorder.header());
+            recorders.values().forEach(r -> System.out.println(r.summary(seconds)));
+        }
+    }
+
+    private List<Session> seed(String base, JdbcTemplate jdbc) {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbc, 42);
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Session> sessions = new ArrayList<>();
+
+        long t0 = System.nanoTime();
+        for (int u = 0; u < USERS; u++) {
+            String username = "load-" + run + "-" + u;
+            String creds = "{\"username\":\"" + username + "\",\"password\":\"password123\"";
+            send(post(base + "/api/auth/register", null, creds + ",\"email\":\"" + username + "@example.com\"}"));
+            String token = extract(send(post(base + "/api/auth/login", null, creds + "}")).body(), "token");
+
+            long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+            generator.seedTasks(userId, TASKS_PER_USER);
+
+            List<Long> ids = jdbc.queryForList(
+                    "SELECT id FROM tasks WHERE user_id = ? ORDER BY id DESC LIMIT 5000", Long.class, userId);
+            int split = ids.size() * 4 / 5;
+            sessions.add(new Session(userId, token, List.copyOf(ids.subList(0, split)),
+                    new ConcurrentLinkedDeque<>(ids.subList(split, ids.size()))));
+        }
+        System.out.printf("Seeded %d tasks in %.1fs%n", (long) USERS * TASKS_PER_USER, (System.nanoTime() - t0) / 1e9);
+        return sessions;
+    }
+
+    private void step(String base, Session s) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        String op = pick(r.nextInt(100));
+        String tasks = base + "/api/tasks";
+
+        HttpRequest req = switch (op) {
+            case "list" -> get(tasks + "?page=" + r.nextInt(50) + "&size=20", s.token());
+            case "list-filtered" -> get(tasks + "?status=PENDING&priority=HIGH"
+                    + "&dueAfter=" + LocalDate.now().minusDays(30) + "&dueBefore=" + LocalDate.now().plusDays(30)
+                    + "&size=20", s.token());
+            case "search" -> get(tasks + "?q=" + SyntheticDataGenerator.word(r).substring(0, 4) + "&size=20", s.token());
+            case "get" -> readId(s, r) instanceof Long id ? get(tasks + "/" + id, s.token()) : null;
+            case "create" -> post(tasks, s.token(), "{\"text\":\"" + SyntheticDataGenerator.word(r) + " load\",\"priority\":\"HIGH\"}");
+            case "update" -> readId(s, r) instanceof Long id
+                    ? put(tasks + "/" + id, s.token(), "{\"text\":\"updated " + SyntheticDataGenerator.word(r) + "\"}") : null;
+            case "complete" -> readId(s, r) instanceof Long id ? post(tasks + "/" + id + "/complete", s.token(), "") : null;
+            case "delete" -> s.deletable().pollLast() instanceof Long id ? delete(tasks + "/" + id, s.token()) : null;
+            default -> throw new IllegalStateException(op);
+        };
+        if (req == null) return;
+
+        long t0 = System.nanoTime();
+        HttpResponse<String> res = send(req);
+        recorders.get(op).record(System.nanoTime() - t0, res.statusCode() < 400);
+
+        if (op.equals("create") && res.statusCode() == 201) {
+            s.deletable().addFirst(Long.parseLong(extract(res.body(), "id")));
+        }
+    }
+
+    private static Long readId(Session s, ThreadLocalRandom r) {
+        return s.readIds().isEmpty() ? null : s.readIds().get(r.nextInt(s.readIds().size()));
+    }
+
+    private static String pick(int roll) {
+        int acc = 0;
+        for (Map.Entry<String, Integer> e : MIX.entrySet()) {
+            acc += e.getValue();
+            if (roll < acc) return e.getKey();
+        }
+        return "list";
+    }
+
+    private static String extract(String json, String field) {
+        Matcher m = Pattern.compile("\"" + field + "\"\\s*:\\s*\"?([^\",}]+)").matcher(json);
+        if (!m.find()) throw new IllegalStateException("No " + field + " in " + json);
+        return m.group(1);
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) b.header("Authorization", "Bearer " + token);
+        return b.build();
+    }
+
+    private static HttpRequest put(String url, String token, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpRequest delete(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).DELETE().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest req) {
+        try {
+            return http.send(req, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.snaplist_backend.perf;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.dto.TaskResponse;
+import com.snaplist_backend.mapper.TaskMapper;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.TaskSpecifications;
+import com.snaplist_backend.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Compares the old read path (managed Task entities copied by TaskMapper) with the
+// projection path (rows constructed directly as TaskResponse) on the embedded database.
+// Reports bytes allocated per list call and calls per second:
+//   mvn -Pperf test -Dtest=ReadPathAllocationTest
+@Tag("perf")
+@SpringBootTest
+@ActiveProfiles("test")
+class ReadPathAllocationTest {
+
+    private static final int ROWS = 2_000;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Test
+    void entityVersusProjectionReadPath() {
+        User user = userRepository.save(new User(null, "perf-read", "x".repeat(60), "perf-read@example.com"));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Task t = new Task();
+            t.setUser(user);
+            t.setText("read path task #" + i);
+            tasks.add(t);
+        }
+        taskRepository.saveAll(tasks);
+
+        Specification<Task> spec = TaskSpecifications.forUser(user.getId(), null, null, null, null);
+        Pageable pageable = PageRequest.of(3, 50, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
+        TransactionTemplate readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+
+        report("entity + TaskMapper", () -> readOnly.execute(s ->
+                taskRepository.findAll(spec, pageable).map(TaskMapper::toResponse)));
+        report("projection", () -> readOnly.execute(s ->
+                taskRepository.findResponses(spec, pageable)));
+    }
+
+    private void report(String label, Supplier<Page<TaskResponse>> call) {
+        for (int i = 0; i < WARMUP; i++) call.get();
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) call.get();
+        long elapsed = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(tid) - bytesBefore;
+
+        System.out.printf("%-22s %10d bytes/call %10.0f calls/s%n",
+                label, bytes / ITERATIONS, ITERATIONS / (elapsed / 1e9));
+    }
+}
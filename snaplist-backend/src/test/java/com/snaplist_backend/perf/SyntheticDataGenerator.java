@@ -0,0 +1,87 @@
+package com.snaplist_backend.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Seeds tasks straight through JDBC batches (millions of rows would take far too long through
+// the API, and the API can't create overdue tasks). Distributions are skewed on purpose so
+// filters hit both common and rare values:
+//   status   70% PENDING / 30% DONE
+//   priority 60% MEDIUM / 25% LOW / 15% HIGH
+//   due date 20% none, otherwise clustered around today (±60 days, so some overdue)
+//   created  spread over the last 365 days
+class SyntheticDataGenerator {
+
+    private static final int BATCH = 5_000;
+    private static final String[] WORDS = {
+            "invoice", "groceries", "dentist", "report", "deploy", "review", "call", "gym", "taxes",
+            "birthday", "meeting", "laundry", "flight", "renew", "backup", "budget", "plan", "email",
+            "garden", "insurance", "passport", "refactor", "interview", "workshop", "pharmacy"
+    };
+
+    private final JdbcTemplate jdbc;
+    private final SplittableRandom random;
+    private final String nextId;
+
+    SyntheticDataGenerator(JdbcTemplate jdbc, long seed) {
+        this.jdbc = jdbc;
+        this.random = new SplittableRandom(seed);
+        String product = jdbc.execute((java.sql.Connection c) -> c.getMetaData().getDatabaseProductName());
+        this.nextId = "PostgreSQL".equalsIgnoreCase(product) ? "nextval('tasks_seq')" : "NEXT VALUE FOR tasks_seq";
+    }
+
+    void seedTasks(long userId, int count) {
+        String sql = "INSERT INTO tasks (id, user_id, text, status, priority, due_date, created_at, updated_at) "
+                + "VALUES (" + nextId + ", ?, ?, ?, ?, ?, ?, ?)";
+        LocalDate today = LocalDate.now();
+        Instant now = Instant.now();
+
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            Instant created = now.minus(random.nextLong(365L * 24 * 3600), ChronoUnit.SECONDS);
+            batch.add(new Object[]{
+                    userId,
+                    text(i),
+                    random.nextInt(100) < 70 ? "PENDING" : "DONE",
+                    priority(),
+                    dueDate(today),
+                    Timestamp.from(created),
+                    Timestamp.from(created)
+            });
+            if (batch.size() == BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+    }
+
+    static String word(RandomGenerator r) {
+        return WORDS[r.nextInt(WORDS.length)];
+    }
+
+    private String text(int i) {
+        return word(random) + " " + word(random) + " " + word(random) + " #" + i;
+    }
+
+    private String priority() {
+        int p = random.nextInt(100);
+        return p < 60 ? "MEDIUM" : p < 85 ? "LOW" : "HIGH";
+    }
+
+    private Date dueDate(LocalDate today) {
+        if (random.nextInt(100) < 20) return null;
+        // sum of two uniforms: triangular distribution centred on today
+        int offset = random.nextInt(61) + random.nextInt(61) - 60;
+        return Date.valueOf(today.plusDays(offset));
+    }
+}
@@ -0,0 +1,116 @@
+package com.snaplist_backend.perf;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.TaskSpecifications;
+import com.snaplist_backend.repository.UserRepository;
+import com.snaplist_backend.search.SubstringTaskSearch;
+import com.snaplist_backend.search.TaskTextSearch;
+import com.snaplist_backend.search.TrigramTaskSearch;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Search latency as the owner's task table grows. Runs against the database configured in
+// application.properties (local PostgreSQL), because that is where the trigram index lives:
+//   mvn -Pperf test -Dtest=TaskSearchLatencyTest
+// Both backends run over the same rows and queries. Each query is the limited read the list
+// endpoints issue for a search (first 20 rows, relevance order, no COUNT), and its term is
+// drawn from a vocabulary large enough that it matches a handful of rows, as real searches do.
+// The trigram median should stay roughly flat across sizes; the substring one grows with the rows.
+@Tag("perf")
+@SpringBootTest
+class TaskSearchLatencyTest {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int QUERIES = 200;
+    private static final int LIMIT = 20;
+    // two words per task: at 100k rows a word is in about 40 tasks
+    private static final int VOCABULARY = 5_000;
+
+    private static final List<TaskTextSearch> BACKENDS = List.of(new SubstringTaskSearch(), new TrigramTaskSearch());
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void searchLatencyByTableSize() {
+        Random random = new Random(42);
+        String[] words = vocabulary(random);
+        String suffix = Long.toString(System.nanoTime());
+        User user = userRepository.save(new User(null, "perf-search-" + suffix, "x".repeat(60), "perf-search-" + suffix + "@example.com"));
+
+        int seeded = 0;
+        System.out.printf("%-10s %-20s %-12s %-12s %-12s%n", "rows", "backend", "p50 (us)", "p99 (us)", "avg hits");
+        try {
+            for (int size : SIZES) {
+                seed(user, size - seeded, words, random);
+                seeded = size;
+
+                // the same query terms for every backend at this size
+                String[] queries = new String[QUERIES];
+                for (int i = 0; i < QUERIES; i++) queries[i] = words[random.nextInt(words.length)].substring(0, 5);
+
+                Specification<Task> base = TaskSpecifications.forUser(user.getId(), null, null, null, null);
+                for (TaskTextSearch backend : BACKENDS) {
+                    long[] samples = new long[QUERIES];
+                    long hits = 0;
+                    for (int i = 0; i < QUERIES; i++) {
+                        long start = System.nanoTime();
+                        hits += taskRepository.findResponses(base.and(backend.matching(queries[i])), Sort.unsorted(), LIMIT).size();
+                        samples[i] = System.nanoTime() - start;
+                    }
+                    Arrays.sort(samples);
+                    System.out.printf("%-10d %-20s %-12d %-12d %-12.1f%n", size, backend.getClass().getSimpleName(),
+                            samples[QUERIES / 2] / 1_000, samples[QUERIES * 99 / 100] / 1_000, (double) hits / QUERIES);
+                }
+            }
+        } finally {
+            // one statement, not 100k entity deletes
+            jdbc.update("DELETE FROM tasks WHERE user_id = ?", user.getId());
+            userRepository.deleteById(user.getId());
+        }
+    }
+
+    // Distinct made-up words (seeded, so every run searches the same table).
+    private static String[] vocabulary(Random random) {
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < words.length; i++) {
+            char[] word = new char[8];
+            for (int c = 0; c < word.length; c++) word[c] = (char) ('a' + random.nextInt(26));
+            words[i] = new String(word);
+        }
+        return words;
+    }
+
+    private void seed(User user, int count, String[] words, Random random) {
+        List<Task> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < count; i++) {
+            Task t = new Task();
+            t.setUser(user);
+            t.setText(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " #" + i);
+            batch.add(t);
+            if (batch.size() == 1_000) {
+                taskRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        taskRepository.saveAll(batch);
+    }
+}
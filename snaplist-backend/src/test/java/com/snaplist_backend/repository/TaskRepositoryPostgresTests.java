@@ -0,0 +1,193 @@
+package com.snaplist_backend.repository;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.dto.TaskRequest;
+import com.snaplist_backend.dto.TaskState;
+import com.snaplist_backend.repository.TaskRepositoryCustom.Updated;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The RETURNING statements TaskRepositoryImpl runs on PostgreSQL; the embedded test database
+// only ever runs the SELECT ... FOR UPDATE variants (TaskOwnershipTests, TaskBatchTests).
+// Runs against the database configured in application.properties (local PostgreSQL), each
+// test rolled back:
+//   mvn -Ppostgres test
+@Tag("postgres")
+@SpringBootTest
+@Transactional
+class TaskRepositoryPostgresTests {
+
+    private static final LocalDate DUE = LocalDate.now().plusDays(7);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private User owner;
+    private User neighbour;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect())
+                .as("these tests exercise the PostgreSQL statements").isInstanceOf(PostgreSQLDialect.class);
+        String suffix = Long.toString(System.nanoTime());
+        owner = userRepository.save(new User(null, "pg-owner-" + suffix, "secret-hash", "pg-owner-" + suffix + "@example.com"));
+        neighbour = userRepository.save(new User(null, "pg-neighbour-" + suffix, "secret-hash", "pg-neighbour-" + suffix + "@example.com"));
+        // the column keeps microseconds
+        now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @Test
+    void aTextOnlyUpdateReturnsTheRowWithoutPreviousValues() {
+        Task mine = save(owner, "original", Task.Status.PENDING, Task.Priority.HIGH);
+
+        Updated updated = taskRepository.updateOwned(mine.getId(), owner.getId(), request("renamed", null, null), now)
+                .orElseThrow();
+
+        assertThat(updated.before()).isNull();
+        assertThat(updated.after().getId()).isEqualTo(mine.getId());
+        assertThat(updated.after().getText()).isEqualTo("renamed");
+        assertThat(updated.after().getStatus()).isEqualTo(Task.Status.PENDING);
+        assertThat(updated.after().getPriority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(updated.after().getDueDate()).isEqualTo(DUE);
+        assertThat(updated.after().getUpdatedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void anUpdateThatMovesTheTaskReturnsWhatItWasBefore() {
+        Task mine = save(owner, "original", Task.Status.PENDING, Task.Priority.HIGH);
+
+        Updated updated = taskRepository.updateOwned(mine.getId(), owner.getId(),
+                request("done now", Task.Status.DONE, Task.Priority.LOW), now).orElseThrow();
+
+        assertThat(updated.before()).isEqualTo(new TaskState(mine.getId(), Task.Status.PENDING, Task.Priority.HIGH));
+        assertThat(updated.after().getText()).isEqualTo("done now");
+        assertThat(updated.after().getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(updated.after().getPriority()).isEqualTo(Task.Priority.LOW);
+        assertThat(stored(mine.getId()).getStatus()).isEqualTo(Task.Status.DONE);
+    }
+
+    @Test
+    void completingReturnsThePreviousStatus() {
+        Task mine = save(owner, "mine", Task.Status.PENDING, Task.Priority.MEDIUM);
+
+        Updated completed = taskRepository.completeOwned(mine.getId(), owner.getId(), now).orElseThrow();
+
+        assertThat(completed.before()).isEqualTo(new TaskState(mine.getId(), Task.Status.PENDING, Task.Priority.MEDIUM));
+        assertThat(completed.after().getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(completed.after().getUpdatedAt()).isEqualTo(now);
+    }
+
+    @Test
+    void deletingReturnsTheRemovedRowOnce() {
+        Task mine = save(owner, "mine", Task.Status.DONE, Task.Priority.LOW);
+
+        assertThat(taskRepository.deleteOwned(mine.getId(), owner.getId()))
+                .contains(new TaskState(mine.getId(), Task.Status.DONE, Task.Priority.LOW));
+        assertThat(taskRepository.deleteOwned(mine.getId(), owner.getId())).isEmpty();
+        em.clear();
+        assertThat(taskRepository.existsById(mine.getId())).isFalse();
+    }
+
+    @Test
+    void anotherUsersTaskIsUntouchedByEverySingleWrite() {
+        Task theirs = save(neighbour, "theirs", Task.Status.PENDING, Task.Priority.MEDIUM);
+        long id = theirs.getId();
+
+        assertThat(taskRepository.updateOwned(id, owner.getId(), request("stolen", null, null), now)).isEmpty();
+        assertThat(taskRepository.updateOwned(id, owner.getId(), request("stolen", Task.Status.DONE, null), now)).isEmpty();
+        assertThat(taskRepository.completeOwned(id, owner.getId(), now)).isEmpty();
+        assertThat(taskRepository.deleteOwned(id, owner.getId())).isEmpty();
+
+        Task after = stored(id);
+        assertThat(after.getText()).isEqualTo("theirs");
+        assertThat(after.getStatus()).isEqualTo(Task.Status.PENDING);
+    }
+
+    @Test
+    void batchCompleteReturnsOnlyTheOwnersRowsWithTheirPreviousValues() {
+        Task pending = save(owner, "pending", Task.Status.PENDING, Task.Priority.HIGH);
+        Task done = save(owner, "done", Task.Status.DONE, Task.Priority.LOW);
+        Task theirs = save(neighbour, "theirs", Task.Status.PENDING, Task.Priority.MEDIUM);
+        long missing = theirs.getId() + 1000;
+
+        List<TaskState> before = taskRepository.completeAllOwned(
+                List.of(pending.getId(), done.getId(), theirs.getId(), missing), owner.getId(), now);
+
+        assertThat(before).containsExactlyInAnyOrder(
+                new TaskState(pending.getId(), Task.Status.PENDING, Task.Priority.HIGH),
+                new TaskState(done.getId(), Task.Status.DONE, Task.Priority.LOW));
+        assertThat(stored(pending.getId()).getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(stored(pending.getId()).getUpdatedAt()).isEqualTo(now);
+        assertThat(stored(theirs.getId()).getStatus()).isEqualTo(Task.Status.PENDING);
+    }
+
+    @Test
+    void batchDeleteReturnsOnlyTheRowsItRemoved() {
+        Task first = save(owner, "first", Task.Status.PENDING, Task.Priority.HIGH);
+        Task second = save(owner, "second", Task.Status.DONE, Task.Priority.MEDIUM);
+        Task theirs = save(neighbour, "theirs", Task.Status.PENDING, Task.Priority.MEDIUM);
+        long missing = theirs.getId() + 1000;
+
+        List<TaskState> removed = taskRepository.deleteAllOwned(
+                List.of(first.getId(), second.getId(), theirs.getId(), missing), owner.getId());
+
+        assertThat(removed).containsExactlyInAnyOrder(
+                new TaskState(first.getId(), Task.Status.PENDING, Task.Priority.HIGH),
+                new TaskState(second.getId(), Task.Status.DONE, Task.Priority.MEDIUM));
+        assertThat(taskRepository.deleteAllOwned(List.of(first.getId(), second.getId()), owner.getId())).isEmpty();
+        em.clear();
+        assertThat(taskRepository.existsById(first.getId())).isFalse();
+        assertThat(taskRepository.existsById(theirs.getId())).isTrue();
+    }
+
+    private Task save(User user, String text, Task.Status status, Task.Priority priority) {
+        Task t = new Task();
+        t.setUser(user);
+        t.setText(text);
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setDueDate(DUE);
+        return taskRepository.saveAndFlush(t);
+    }
+
+    // as stored, not as held by the persistence context
+    private Task stored(Long id) {
+        em.clear();
+        return taskRepository.findById(id).orElseThrow();
+    }
+
+    private static TaskRequest request(String text, Task.Status status, Task.Priority priority) {
+        TaskRequest r = new TaskRequest();
+        r.setText(text);
+        r.setStatus(status);
+        r.setPriority(priority);
+        return r;
+    }
+}
@@ -0,0 +1,82 @@
+package com.snaplist_backend.search;
+
+import com.snaplist_backend.domain.Task;
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.repository.TaskRepository;
+import com.snaplist_backend.repository.TaskSpecifications;
+import com.snaplist_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TaskTextSearchTests {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskTextSearch textSearch;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "searcher", "secret-hash", "searcher@example.com"));
+        User other = userRepository.save(new User(null, "other", "secret-hash", "other@example.com"));
+
+        save(owner, "Pay the invoice for March");
+        save(owner, "Invoice follow-up call");
+        save(owner, "Buy groceries");
+        save(owner, "Discount of 50% on shoes");
+        save(other, "Invoice that belongs to someone else");
+    }
+
+    @Test
+    void matchesEveryTermCaseInsensitively() {
+        assertThat(search("INVOICE march")).containsExactly("Pay the invoice for March");
+    }
+
+    @Test
+    void matchesPrefixesAndRanksEarlierHitsFirst() {
+        assertThat(search("invo")).containsExactly("Invoice follow-up call", "Pay the invoice for March");
+    }
+
+    @Test
+    void treatsLikeWildcardsLiterally() {
+        assertThat(search("50%")).containsExactly("Discount of 50% on shoes");
+        assertThat(search("_")).isEmpty();
+    }
+
+    @Test
+    void neverReturnsOtherUsersTasks() {
+        assertThat(search("someone")).isEmpty();
+    }
+
+    private List<String> search(String q) {
+        Specification<Task> spec = TaskSpecifications.forUser(owner.getId(), null, null, null, null)
+                .and(textSearch.matching(q));
+        return taskRepository.findAll(spec, PageRequest.of(0, 20)).map(Task::getText).getContent();
+    }
+
+    private void save(User user, String text) {
+        Task t = new Task();
+        t.setUser(user);
+        t.setText(text);
+        taskRepository.save(t);
+    }
+}
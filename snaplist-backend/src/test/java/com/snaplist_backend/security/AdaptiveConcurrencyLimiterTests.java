@@ -0,0 +1,57 @@
+package com.snaplist_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void shedsAboveTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50 * MS, 2, 1, 10);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shrinksWhileTheDatabaseIsSlowAndNotBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50 * MS, 100, 10, 400);
+        limiter.onLatency(200 * MS);
+        limiter.adjust();
+        assertThat(limiter.limit()).isEqualTo(90);
+
+        for (int i = 0; i < 100; i++) limiter.adjust();
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void growsBackOnlyWhileTheLimitIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50 * MS, 4, 1, 5);
+        limiter.onLatency(5 * MS);
+        limiter.adjust();
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.adjust();
+        limiter.adjust();
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void latencyIsAMovingAverage() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50 * MS, 4, 1, 5);
+        limiter.onLatency(10 * MS);
+        assertThat(limiter.averageLatencyNanos()).isEqualTo(10.0 * MS);
+
+        limiter.onLatency(110 * MS);
+        assertThat(limiter.averageLatencyNanos()).isEqualTo(15.0 * MS);
+    }
+}
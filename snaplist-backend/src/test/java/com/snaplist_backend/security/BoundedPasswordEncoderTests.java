@@ -0,0 +1,75 @@
+package com.snaplist_backend.security;
+
+import com.snaplist_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedPasswordEncoderTests {
+
+    @Test
+    void hashesAndVerifiesOnThePool() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 2, 4, registry);
+        try {
+            String hash = encoder.encode("secret123");
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("secret123", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(registry.get("snaplist.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void weakerStoredHashesAskForAnUpgrade() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(6, 1, 1, new SimpleMeterRegistry());
+        try {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw"))).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsFastOnceThreadsAndQueueAreFull() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, registry);
+        String hash = new BCryptPasswordEncoder(12).encode("pw");
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            AtomicInteger busy = new AtomicInteger();
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(callers.submit(() -> {
+                    go.await();
+                    try {
+                        encoder.matches("pw", hash);
+                    } catch (ServiceUnavailableException e) {
+                        busy.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : calls) f.get(30, TimeUnit.SECONDS);
+
+            // one running + one queued at most while the rest arrive
+            assertThat(busy.get()).isGreaterThanOrEqualTo(1);
+            assertThat(registry.get("snaplist.password.rejected").counter().count()).isEqualTo(busy.get());
+        } finally {
+            callers.shutdownNow();
+            encoder.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.snaplist_backend.security;
+
+import com.snaplist_backend.domain.User;
+import com.snaplist_backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// The filter with a real UserPrincipalService over a mocked user store, so every user
+// query the authentication path makes is visible.
+class JwtAuthFilterTests {
+
+    private final UserRepository users = Mockito.mock(UserRepository.class);
+    private final JwtUtils jwtUtils = new JwtUtils("tests_secret_tests_secret_tests_secret_tests", 3_600_000, 100);
+
+    @BeforeEach
+    void stubUsers() {
+        Mockito.when(users.findByUsername("alice"))
+                .thenReturn(Optional.of(new User(7L, "alice", "hash", "alice@example.com")));
+        Mockito.when(users.findByUsername("bob"))
+                .thenReturn(Optional.of(new User(8L, "bob", "hash", "bob@example.com")));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void uidClaimAuthenticatesWithoutAUserQuery() throws Exception {
+        Authentication auth = authenticate(filter(false), jwtUtils.generateToken("alice", 7L));
+
+        assertThat(((UserPrincipal) auth.getPrincipal()).getId()).isEqualTo(7L);
+        verifyNoInteractions(users);
+    }
+
+    @Test
+    void tokenWithoutUidFallsBackToACachedLookup() throws Exception {
+        JwtAuthFilter filter = filter(false);
+        String token = jwtUtils.generateToken("alice", null);
+
+        assertThat(((UserPrincipal) authenticate(filter, token).getPrincipal()).getId()).isEqualTo(7L);
+        SecurityContextHolder.clearContext();
+        assertThat(((UserPrincipal) authenticate(filter, token).getPrincipal()).getId()).isEqualTo(7L);
+        verify(users, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void verifyUserChecksTheAccountBehindAUidClaim() throws Exception {
+        JwtAuthFilter filter = filter(true);
+
+        assertThat(authenticate(filter, jwtUtils.generateToken("alice", 7L))).isNotNull();
+        verify(users).findByUsername("alice");
+
+        // re-registered under another id since the token was issued
+        SecurityContextHolder.clearContext();
+        assertThat(authenticate(filter, jwtUtils.generateToken("alice", 99L))).isNull();
+    }
+
+    @Test
+    void unknownUsersAreRejected() {
+        UserPrincipalService principals = new UserPrincipalService(users, false, 100, 300_000);
+        assertThatThrownBy(() -> principals.resolve("nobody", null)).isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void cachedLookupsExpire() throws InterruptedException {
+        UserPrincipalService principals = new UserPrincipalService(users, false, 100, 50);
+        principals.resolve("alice", null);
+        principals.resolve("alice", null);
+        verify(users, times(1)).findByUsername("alice");
+
+        Thread.sleep(100);
+        principals.resolve("alice", null);
+        verify(users, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void lookupCacheIsBounded() {
+        UserPrincipalService principals = new UserPrincipalService(users, false, 1, 300_000);
+        principals.resolve("alice", null);
+        principals.resolve("bob", null);
+        principals.resolve("alice", null);
+        verify(users, times(2)).findByUsername("alice");
+    }
+
+    private JwtAuthFilter filter(boolean verifyUser) {
+        return new JwtAuthFilter(jwtUtils, new UserPrincipalService(users, verifyUser, 100, 300_000),
+                new SimpleMeterRegistry());
+    }
+
+    // The authentication the filter set up, or null when it rejected the token.
+    private static Authentication authenticate(JwtAuthFilter filter, String token) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/tasks");
+        req.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,78 @@
+package com.snaplist_backend.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilsTests {
+
+    private static final String SECRET = "tests_secret_tests_secret_tests_secret_tests";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 3_600_000, 100);
+
+    @Test
+    void repeatVerifiesReturnTheSameImmutableResult() {
+        String token = jwtUtils.generateToken("alice", 7L);
+
+        JwtUtils.VerifiedToken first = jwtUtils.verify(token);
+        assertThat(first.subject()).isEqualTo("alice");
+        assertThat(first.userId()).isEqualTo(7L);
+        assertThat(first.expiresAt()).isInTheFuture();
+        assertThat(jwtUtils.verify(token)).isSameAs(first);
+    }
+
+    @Test
+    void tamperedTokensAreRejectedWhileTheOriginalIsCached() {
+        String token = jwtUtils.generateToken("alice", 7L);
+        jwtUtils.verify(token);
+
+        String[] parts = token.split("\\.");
+        String otherPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("\"uid\":7", "\"uid\":8").getBytes());
+        assertThat(otherPayload).isNotEqualTo(parts[1]);
+        assertThatThrownBy(() -> jwtUtils.verify(parts[0] + "." + otherPayload + "." + parts[2]))
+                .isInstanceOf(JwtException.class);
+
+        String otherSignature = (parts[2].charAt(0) == 'A' ? 'B' : 'A') + parts[2].substring(1);
+        assertThatThrownBy(() -> jwtUtils.verify(parts[0] + "." + parts[1] + "." + otherSignature))
+                .isInstanceOf(JwtException.class);
+
+        assertThat(jwtUtils.verify(token).userId()).isEqualTo(7L);
+    }
+
+    @Test
+    void expiredTokensAreRejectedWhileAValidOneIsCached() {
+        jwtUtils.verify(jwtUtils.generateToken("alice", 7L));
+
+        long now = System.currentTimeMillis();
+        String expired = Jwts.builder()
+                .setSubject("alice")
+                .claim("uid", 7L)
+                .setIssuedAt(new Date(now - 120_000))
+                .setExpiration(new Date(now - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        assertThatThrownBy(() -> jwtUtils.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void aCachedTokenStopsVerifyingAtItsExpiry() throws InterruptedException {
+        JwtUtils shortLived = new JwtUtils(SECRET, 1000, 100);
+        JwtUtils.IssuedToken issued = shortLived.issueToken("alice", 7L);
+        assertThat(shortLived.verify(issued.token()).userId()).isEqualTo(7L);
+
+        Thread.sleep(Math.max(0, issued.expiresAt().getTime() - System.currentTimeMillis()) + 50);
+
+        // a cache hit would have returned without parsing
+        assertThatThrownBy(() -> shortLived.verify(issued.token())).isInstanceOf(ExpiredJwtException.class);
+    }
+}
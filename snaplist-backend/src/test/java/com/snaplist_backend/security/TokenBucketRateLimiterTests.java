@@ -0,0 +1,86 @@
+package com.snaplist_backend.security;
+
+import com.snaplist_backend.security.TokenBucketRateLimiter.Category;
+import com.snaplist_backend.security.TokenBucketRateLimiter.Limit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    // read: 10/s burst 3, write: 1/s burst 2, search: 1/s burst 1
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(
+            new Limit(10, 3), new Limit(1, 2), new Limit(1, 1), 1000);
+
+    @Test
+    void allowsTheBurstThenAsksToWait() {
+        long now = 5 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(1L, Category.READ, now)).isZero();
+        }
+        long wait = limiter.tryAcquire(1L, Category.READ, now);
+        assertThat(wait).isEqualTo(SECOND / 10);
+
+        // one token back after one interval, not more
+        assertThat(limiter.tryAcquire(1L, Category.READ, now + wait)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.READ, now + wait)).isPositive();
+    }
+
+    @Test
+    void categoriesAndUsersHaveSeparateBuckets() {
+        long now = 5 * SECOND;
+        assertThat(limiter.tryAcquire(1L, Category.SEARCH, now)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.SEARCH, now)).isEqualTo(SECOND);
+
+        assertThat(limiter.tryAcquire(1L, Category.READ, now)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, now)).isZero();
+        assertThat(limiter.tryAcquire(2L, Category.SEARCH, now)).isZero();
+    }
+
+    @Test
+    void refillsUpToTheBurstOnly() {
+        long now = 5 * SECOND;
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, now)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, now)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, now)).isPositive();
+
+        long later = now + 60 * SECOND;
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, later)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, later)).isZero();
+        assertThat(limiter.tryAcquire(1L, Category.WRITE, later)).isPositive();
+    }
+
+    @Test
+    void sweepDropsUsersWithFullBuckets() {
+        long now = 5 * SECOND;
+        limiter.tryAcquire(1L, Category.READ, now);
+        limiter.tryAcquire(2L, Category.WRITE, now);
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // user 1's read token is back after 100ms, user 2's write token only after 1s
+        assertThat(limiter.sweep(now + SECOND / 2)).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.sweep(now + SECOND)).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+    }
+
+    @Test
+    void refusesNewUsersWhileTheTableIsFullOfActiveUsers() {
+        TokenBucketRateLimiter small = new TokenBucketRateLimiter(
+                new Limit(10, 3), new Limit(1, 2), new Limit(1, 1), 2);
+        long now = 5 * SECOND;
+        assertThat(small.tryAcquire(1L, Category.WRITE, now)).isZero();
+        assertThat(small.tryAcquire(2L, Category.WRITE, now)).isZero();
+
+        assertThat(small.tryAcquire(3L, Category.WRITE, now)).isEqualTo(SECOND);
+        assertThat(small.size()).isEqualTo(2);
+        // tracked users are unaffected
+        assertThat(small.tryAcquire(1L, Category.WRITE, now)).isZero();
+
+        // once user 2's bucket is full again, the sweep makes room
+        assertThat(small.tryAcquire(3L, Category.WRITE, now + 3 * SECOND / 2)).isZero();
+        assertThat(small.size()).isEqualTo(2);
+    }
+}